@@ -0,0 +1,67 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.CrowdfundingPlatformApplication;
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database. Settings are passed
+ * as command-line arguments so they win over the MySQL configuration in the application's properties.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] base = {
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--campaigns.deadline-scheduler.initial-delay-ms=3600000"
+        };
+        String[] args = new String[base.length + extraArgs.length];
+        System.arraycopy(base, 0, args, 0, base.length);
+        System.arraycopy(extraArgs, 0, args, base.length, extraArgs.length);
+        return new SpringApplicationBuilder(CrowdfundingPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    // Goal is out of reach so benchmark donations never complete the campaign
+    static Campaign campaign(int n) {
+        Campaign c = new Campaign();
+        c.setTitle("Benchmark campaign " + n);
+        c.setDescription("Benchmark description ".repeat(40));
+        c.setGoalAmount(new BigDecimal("1000000000000.00"));
+        c.setCurrentAmount(BigDecimal.ZERO);
+        c.setCategory(n % 2 == 0 ? "Medical" : "Education");
+        c.setCreatorName("Creator " + n);
+        c.setDeadline(LocalDate.now().plusDays(30 + n % 60));
+        return c;
+    }
+
+    static Donation donation(int n) {
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("25.00"));
+        d.setDonorName("Donor " + n);
+        d.setMessage("Keep going!");
+        return d;
+    }
+}
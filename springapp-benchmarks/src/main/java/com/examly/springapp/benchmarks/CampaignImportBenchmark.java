@@ -0,0 +1,79 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.dto.CampaignImportFormat;
+import com.examly.springapp.dto.CampaignImportReport;
+import com.examly.springapp.service.CampaignImporter;
+import com.examly.springapp.service.CampaignService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import throughput in rows per second: a {@value #ROWS}-row NDJSON catalog through
+ * {@link CampaignImporter} with 1 and 4 workers, against the same rows created one
+ * {@link CampaignService#createCampaign} call at a time as the per-request baseline (unaffected by
+ * {@code parallelism}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CampaignImportBenchmark {
+
+    static final int ROWS = 10_000;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private CampaignImporter campaignImporter;
+    private CampaignService campaignService;
+    private byte[] catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start(
+                "--campaigns.import.parallelism=" + parallelism,
+                "--spring.datasource.hikari.maximum-pool-size=10");
+        campaignImporter = context.getBean(CampaignImporter.class);
+        campaignService = context.getBean(CampaignService.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < ROWS; i++) {
+            out.write(objectMapper.writeValueAsBytes(BenchmarkContext.campaign(i)));
+            out.write('\n');
+        }
+        catalog = out.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public CampaignImportReport importNdjson() throws Exception {
+        CampaignImportReport report = campaignImporter.importCampaigns(
+                new ByteArrayInputStream(catalog), CampaignImportFormat.NDJSON);
+        if (report.getImported() != ROWS) {
+            throw new IllegalStateException("Imported " + report.getImported() + " of " + ROWS + " rows");
+        }
+        return report;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void createOneByOne(Blackhole bh) {
+        for (int i = 0; i < ROWS; i++) {
+            bh.consume(campaignService.createCampaign(BenchmarkContext.campaign(i)));
+        }
+    }
+}
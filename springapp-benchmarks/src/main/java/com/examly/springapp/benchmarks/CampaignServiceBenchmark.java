@@ -0,0 +1,54 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.service.CampaignService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded latency of the CampaignService checks that run on every create and donation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CampaignService campaignService;
+    private Campaign stored;
+    private Campaign candidate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        campaignService = context.getBean(CampaignService.class);
+        stored = campaignService.createCampaign(BenchmarkContext.campaign(1));
+        candidate = BenchmarkContext.campaign(2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateCampaign(Blackhole bh) {
+        campaignService.validateCampaign(candidate);
+        bh.consume(candidate);
+    }
+
+    // Includes the repository save, so this tracks the write cost of a status re-evaluation
+    @Benchmark
+    public Campaign updateCampaignStatusIfNeeded() {
+        stored.setCurrentAmount(BigDecimal.ZERO);
+        campaignService.updateCampaignStatusIfNeeded(stored);
+        return stored;
+    }
+}
@@ -0,0 +1,58 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.DonationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link DonationService#makeDonation}: cache lookup, guarded funding UPDATE, donation
+ * INSERT, stats upsert and completion check. {@code hotCampaign} sends every thread to one campaign row;
+ * {@code spreadCampaigns} picks uniformly among {@code campaigns} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class DonationServiceBenchmark {
+
+    @Param({"1000"})
+    public int campaigns;
+
+    private ConfigurableApplicationContext context;
+    private DonationService donationService;
+    private long[] campaignIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        donationService = context.getBean(DonationService.class);
+        CampaignService campaignService = context.getBean(CampaignService.class);
+        campaignIds = new long[campaigns];
+        for (int i = 0; i < campaigns; i++) {
+            campaignIds[i] = campaignService.createCampaign(BenchmarkContext.campaign(i)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object hotCampaign() {
+        return donationService.makeDonation(campaignIds[0], BenchmarkContext.donation(0));
+    }
+
+    @Benchmark
+    public Object spreadCampaigns() {
+        int i = ThreadLocalRandom.current().nextInt(campaignIds.length);
+        return donationService.makeDonation(campaignIds[i], BenchmarkContext.donation(i));
+    }
+}
@@ -0,0 +1,103 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.model.Donation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialisation of the list payloads returned by the controllers, using an ObjectMapper built the
+ * same way Spring Boot builds the application's, in each negotiable format: JSON, CBOR and Smile. Donations
+ * carry their Campaign, as the entity does. The {@code Gzip} variants add the compression applied above
+ * {@code server.compression.min-response-size}. Encoded sizes are printed at setup; run with {@code -prof gc}
+ * for the allocation rate ({@code gc.alloc.rate.norm} is bytes allocated per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<Campaign> campaigns;
+    private List<Donation> donations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        campaigns = new ArrayList<>(size);
+        donations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Campaign c = BenchmarkContext.campaign(i);
+            c.setId((long) i);
+            c.setStatus(CampaignStatus.ACTIVE);
+            c.setCreatedAt(LocalDateTime.now());
+            campaigns.add(c);
+
+            Donation d = BenchmarkContext.donation(i);
+            d.setId((long) i);
+            d.setDonatedAt(LocalDateTime.now());
+            d.setCampaign(campaigns.get(0));
+            donations.add(d);
+        }
+        try {
+            System.out.printf("%n%s x%d: campaigns %d B (gzip %d B), donations %d B (gzip %d B)%n", format, size,
+                    campaignList().length, campaignListGzip().length,
+                    donationList().length, donationListGzip().length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] campaignList() throws IOException {
+        return objectMapper.writeValueAsBytes(campaigns);
+    }
+
+    @Benchmark
+    public byte[] donationList() throws IOException {
+        return objectMapper.writeValueAsBytes(donations);
+    }
+
+    @Benchmark
+    public byte[] campaignListGzip() throws IOException {
+        return gzip(campaigns);
+    }
+
+    @Benchmark
+    public byte[] donationListGzip() throws IOException {
+        return gzip(donations);
+    }
+
+    private byte[] gzip(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
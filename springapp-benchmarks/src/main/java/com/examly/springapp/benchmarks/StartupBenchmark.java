@@ -0,0 +1,76 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.CrowdfundingPlatformApplication;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: from {@code SpringApplication.run} to the response of a campaign listing, in a fresh
+ * JVM per measurement. {@code create} is the old boot, where Hibernate rebuilds the schema; {@code migrate} is a
+ * restart against a database already at the current version, where Flyway finds nothing to apply and Hibernate
+ * validates. The database is migrated in setup, before the clock starts.
+ *
+ * <p>AOT and CDS are measured by the JVM flags the run is given: build springapp with {@code -Paot} and add
+ * {@code -jvmArgsAppend -Dspring.aot.enabled=true}, or pass {@code -XX:SharedArchiveFile=...} for an archive
+ * trained on the same classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    @Param({"create", "migrate"})
+    public String schema;
+
+    private String url;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        url = "jdbc:h2:mem:startup-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000";
+        if (schema.equals("migrate")) {
+            Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        boolean migrate = schema.equals("migrate");
+        context = new SpringApplicationBuilder(CrowdfundingPlatformApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=" + (migrate ? "validate" : "create"),
+                "--spring.flyway.enabled=" + migrate,
+                "--spring.profiles.active=prod",
+                "--logging.level.root=WARN");
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/campaigns")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,74 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.DonationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread versus virtual-thread request execution at high concurrency. Each operation is a burst of
+ * {@code concurrency} simultaneous donations, the way a spike reaches Tomcat: {@code platform} runs them on a
+ * 200-thread pool (Tomcat's default maximum), {@code virtual} gives each its own virtual thread with the
+ * connection bulkhead enabled. Throughput is bursts per second; the sample-time percentiles give burst p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"2000"})
+    public int concurrency;
+
+    @Param({"200"})
+    public int campaigns;
+
+    private ConfigurableApplicationContext context;
+    private DonationService donationService;
+    private ExecutorService executor;
+    private long[] campaignIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = mode.equals("virtual");
+        executor = virtual ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(200);
+        context = BenchmarkContext.start(
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.hikari.maximum-pool-size=10");
+        donationService = context.getBean(DonationService.class);
+        CampaignService campaignService = context.getBean(CampaignService.class);
+        campaignIds = new long[campaigns];
+        for (int i = 0; i < campaigns; i++) {
+            campaignIds[i] = campaignService.createCampaign(BenchmarkContext.campaign(i)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[concurrency];
+        for (int r = 0; r < concurrency; r++) {
+            requests[r] = CompletableFuture.runAsync(() -> {
+                int i = ThreadLocalRandom.current().nextInt(campaignIds.length);
+                donationService.makeDonation(campaignIds[i], BenchmarkContext.donation(i));
+            }, executor);
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+}
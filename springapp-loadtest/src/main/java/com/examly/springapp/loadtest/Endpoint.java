@@ -0,0 +1,34 @@
+package com.examly.springapp.loadtest;
+
+/**
+ * The kinds of request in the traffic mix.
+ */
+enum Endpoint {
+    // GET /api/campaigns, following the next-page cursor for a few pages like a user scrolling
+    BROWSE("browse"),
+    // GET /api/campaigns/{id}, Zipf-skewed towards the hot campaigns
+    DETAIL("detail"),
+    // POST /api/campaigns/{id}/donations, Zipf-skewed towards the hot campaigns
+    DONATE("donate"),
+    // GET /api/campaigns?category=...&status=ACTIVE
+    FILTER("filter");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equalsIgnoreCase(name.trim())) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+    }
+}
@@ -0,0 +1,192 @@
+package com.examly.springapp.loadtest;
+
+import com.examly.springapp.CrowdfundingPlatformApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the load test; see {@link LoadTestConfig} for the options. Exits with status 1 when the
+ * error rate is above {@code --max-error-rate}, so a release pipeline can gate on it.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int SEED_PAGE_SIZE = 100;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ConfigurableApplicationContext app = null;
+        int exitCode;
+        try {
+            String baseUrl = config.target;
+            if (baseUrl == null) {
+                app = startLocal(config.appProperties);
+                baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+            }
+            exitCode = run(config, baseUrl);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    static int run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Random random = new Random(config.seed);
+        String startedAt = Instant.now().toString();
+
+        long[] ranked = seed(client, baseUrl, config.campaigns, "Load " + startedAt, random);
+        ZipfSampler zipf = new ZipfSampler(ranked.length, config.zipf);
+        System.out.printf("Seeded %d campaigns; the hottest 1%% get %.0f%% of detail views and donations%n",
+                ranked.length, zipf.topShare(Math.max(1, ranked.length / 100)) * 100);
+
+        long intervalNanos = config.rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * config.concurrency / config.rate) : 0;
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long stopAt = measureFrom + config.duration.toNanos();
+        List<VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.concurrency; i++) {
+            VirtualUser user = new VirtualUser(i, client, baseUrl, ranked, zipf, config.mix, config.seed,
+                    intervalNanos, measureFrom, stopAt);
+            Thread thread = new Thread(user, "loadtest-user-" + i);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+        System.out.printf("Running %d users against %s: %ds warmup, %ds measured%n", config.concurrency, baseUrl,
+                config.warmup.toSeconds(), config.duration.toSeconds());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        LatencyRecorder total = new LatencyRecorder();
+        for (Endpoint endpoint : config.mix.keySet()) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            for (VirtualUser user : users) {
+                recorder.merge(user.recorders().get(endpoint));
+            }
+            merged.put(endpoint, recorder);
+            total.merge(recorder);
+        }
+        Map<String, LoadTestReport.EndpointResult> endpoints = new LinkedHashMap<>();
+        merged.forEach((endpoint, recorder) -> endpoints.put(endpoint.label(), recorder.result(config.duration)));
+        LoadTestReport report = new LoadTestReport(startedAt, config.describe(), endpoints,
+                total.result(config.duration));
+
+        report.write(config.report);
+        report.print(System.out);
+        System.out.println("Report written to " + config.report.toAbsolutePath());
+        if (config.baseline != null) {
+            report.compare(config.baseline, System.out);
+        }
+        if (report.total().errorRate() > config.maxErrorRate) {
+            System.out.printf("FAILED: error rate %.2f%% is above %.2f%%%n",
+                    report.total().errorRate() * 100, config.maxErrorRate * 100);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Imports the campaigns through the bulk import endpoint, then lists them back for their ids and returns
+     * those in a seeded random order: index 0 is the hottest campaign. Titles carry the run's tag so a shared
+     * target's existing campaigns are left out.
+     */
+    static long[] seed(HttpClient client, String baseUrl, int count, String tag, Random random)
+            throws IOException, InterruptedException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> campaign = new LinkedHashMap<>();
+            campaign.put("title", tag + " #" + i);
+            campaign.put("description", "Seeded by the load test to give the traffic mix something to browse.");
+            // Out of reach, so donations never complete a campaign mid-run
+            campaign.put("goalAmount", "1000000000000.00");
+            campaign.put("category", VirtualUser.CATEGORIES.get(i % VirtualUser.CATEGORIES.size()));
+            campaign.put("creatorName", "Load creator " + i % 50);
+            campaign.put("deadline", LocalDate.now().plusDays(30 + random.nextInt(60)).toString());
+            ndjson.append(JSON.writeValueAsString(campaign)).append('\n');
+        }
+        HttpResponse<String> imported = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/campaigns/import?format=ndjson"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + imported.statusCode() + ": " + imported.body());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/campaigns?sort=id&limit=" + SEED_PAGE_SIZE
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            HttpResponse<String> page = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode summary : JSON.readTree(page.body())) {
+                if (summary.path("title").asText().startsWith(tag + " #")) {
+                    ids.add(summary.path("id").asLong());
+                }
+            }
+            cursor = page.headers().firstValue("X-Next-Cursor").orElse(null);
+        } while (cursor != null);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No seeded campaigns were listed back: " + imported.body());
+        }
+        Collections.shuffle(ids, random);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Starts the application on a random port with a private in-memory H2 database, schema built by the
+     * migrations as in production. Pass-through properties win over these defaults.
+     */
+    static ConfigurableApplicationContext startLocal(Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.profiles.active", "prod");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(CrowdfundingPlatformApplication.class).run(args);
+    }
+}
@@ -0,0 +1,123 @@
+package com.examly.springapp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options, given as {@code --name=value}:
+ * <ul>
+ *   <li>{@code target} - base URL of a running application; when absent one is started on embedded H2</li>
+ *   <li>{@code duration}, {@code warmup} - measured and unmeasured run time, e.g. {@code 60s} or {@code 2m}</li>
+ *   <li>{@code concurrency} - simulated users, each issuing one request at a time</li>
+ *   <li>{@code rate} - total requests per second to aim for; 0 sends as fast as responses return. With a rate,
+ *       latency is measured from each request's scheduled start, so a stalled server is not under-reported</li>
+ *   <li>{@code mix} - endpoint weights, e.g. {@code browse:40,detail:30,donate:20,filter:10}</li>
+ *   <li>{@code campaigns}, {@code zipf} - campaigns seeded, and the Zipf exponent concentrating detail views
+ *       and donations on the first-ranked ones</li>
+ *   <li>{@code seed} - random seed, so runs pick the same hot campaigns and request sequence</li>
+ *   <li>{@code report}, {@code baseline} - report file to write, and an earlier one to compare against</li>
+ *   <li>{@code max-error-rate} - exit with status 1 when the overall error rate is above this fraction</li>
+ * </ul>
+ * Any option whose name contains a dot, e.g. {@code --donations.group-commit.enabled=true}, is passed to the
+ * locally started application instead.
+ */
+final class LoadTestConfig {
+
+    String target;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    int concurrency = 64;
+    double rate;
+    Map<Endpoint, Integer> mix = parseMix("browse:40,detail:30,donate:20,filter:10");
+    int campaigns = 1000;
+    double zipf = 1.1;
+    long seed = 42;
+    Path report = Path.of("target/loadtest-report.json");
+    Path baseline;
+    double maxErrorRate = 0.01;
+    final Map<String, String> appProperties = new LinkedHashMap<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            if (name.contains(".")) {
+                config.appProperties.put(name, value);
+                continue;
+            }
+            switch (name) {
+                case "target" -> config.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "duration" -> config.duration = parseDuration(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "concurrency" -> config.concurrency = Integer.parseInt(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "campaigns" -> config.campaigns = Integer.parseInt(value);
+                case "zipf" -> config.zipf = Double.parseDouble(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "report" -> config.report = Path.of(value);
+                case "baseline" -> config.baseline = Path.of(value);
+                case "max-error-rate" -> config.maxErrorRate = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (config.concurrency < 1 || config.campaigns < 1) {
+            throw new IllegalArgumentException("concurrency and campaigns must be at least 1");
+        }
+        return config;
+    }
+
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight, got: " + part);
+            }
+            mix.put(Endpoint.fromName(weight[0]), Integer.parseInt(weight[1]));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    // Recorded in the report, so two reports show whether they are comparable
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("target", target == null ? "embedded" : target);
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("concurrency", concurrency);
+        description.put("rate", rate);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> weights.put(endpoint.label(), weight));
+        description.put("mix", weights);
+        description.put("campaigns", campaigns);
+        description.put("zipf", zipf);
+        description.put("seed", seed);
+        description.put("appProperties", appProperties);
+        return description;
+    }
+}
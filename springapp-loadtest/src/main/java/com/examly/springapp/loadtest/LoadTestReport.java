@@ -0,0 +1,90 @@
+package com.examly.springapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Result of a run: the configuration it ran with and, per endpoint and in total, throughput, latency
+ * percentiles in milliseconds, error rate and response status counts. Written as JSON with a fixed layout,
+ * so reports from successive releases can be diffed or passed back in as {@code --baseline}.
+ */
+record LoadTestReport(String startedAt,
+                      Map<String, Object> config,
+                      Map<String, EndpointResult> endpoints,
+                      EndpointResult total) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointResult(long requests,
+                          long errors,
+                          double errorRate,
+                          double throughput,
+                          double p50Ms,
+                          double p99Ms,
+                          double p999Ms,
+                          double maxMs,
+                          Map<String, Long> statuses) {
+    }
+
+    void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-8s %10s %10s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        endpoints.forEach((name, result) -> printRow(out, name, result));
+        printRow(out, "total", total);
+        out.println("statuses: " + total.statuses());
+    }
+
+    private static void printRow(PrintStream out, String name, EndpointResult result) {
+        out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n", name, result.requests(), result.throughput(),
+                result.p50Ms(), result.p99Ms(), result.p999Ms(), result.maxMs(), result.errorRate() * 100);
+    }
+
+    /**
+     * Prints throughput and p99 of each endpoint next to a baseline report's, with the relative change.
+     */
+    void compare(Path baselineFile, PrintStream out) throws IOException {
+        JsonNode baseline = JSON.readTree(baselineFile.toFile());
+        out.printf("%nagainst %s (started %s)%n", baselineFile, baseline.path("startedAt").asText());
+        out.printf("%-8s %21s %23s%n", "endpoint", "req/s (was)", "p99 ms (was)");
+        Iterator<Map.Entry<String, JsonNode>> previous = baseline.path("endpoints").fields();
+        while (previous.hasNext()) {
+            Map.Entry<String, JsonNode> entry = previous.next();
+            EndpointResult now = endpoints.get(entry.getKey());
+            if (now != null) {
+                compareRow(out, entry.getKey(), now, entry.getValue());
+            }
+        }
+        compareRow(out, "total", total, baseline.path("total"));
+        // Compared as parsed JSON on both sides, so number types match
+        if (!JSON.readTree(JSON.writeValueAsString(config)).equals(baseline.path("config"))) {
+            out.println("note: the baseline ran with a different configuration");
+        }
+    }
+
+    private static void compareRow(PrintStream out, String name, EndpointResult now, JsonNode was) {
+        double throughput = was.path("throughput").asDouble();
+        double p99 = was.path("p99Ms").asDouble();
+        out.printf("%-8s %8.1f (%8.1f) %+6.1f%% %8.2f (%8.2f) %+6.1f%%%n", name,
+                now.throughput(), throughput, change(now.throughput(), throughput),
+                now.p99Ms(), p99, change(now.p99Ms(), p99));
+    }
+
+    private static double change(double now, double was) {
+        return was == 0 ? 0 : (now - was) / was * 100;
+    }
+}
@@ -0,0 +1,158 @@
+package com.examly.springapp.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One simulated user: picks an endpoint by the mix weights, sends the request and waits for the response,
+ * until the run ends. Only requests scheduled after the warmup are recorded.
+ */
+final class VirtualUser implements Runnable {
+
+    static final List<String> CATEGORIES =
+            List.of("Medical", "Education", "Technology", "Community", "Environment", "Arts");
+    private static final List<String> SORTS = List.of("id", "deadline", "createdAt");
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES_PER_VISIT = 5;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final int id;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final long[] rankedCampaigns;
+    private final ZipfSampler zipf;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    private final long intervalNanos;
+    private final long measureFrom;
+    private final long stopAt;
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+    private String browseSort;
+    private String cursor;
+    private int pagesLeft;
+
+    VirtualUser(int id, HttpClient client, String baseUrl, long[] rankedCampaigns, ZipfSampler zipf,
+                Map<Endpoint, Integer> mix, long seed, long intervalNanos, long measureFrom, long stopAt) {
+        this.id = id;
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.rankedCampaigns = rankedCampaigns;
+        this.zipf = zipf;
+        this.endpoints = mix.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.random = new Random(seed + id);
+        this.intervalNanos = intervalNanos;
+        this.measureFrom = measureFrom;
+        this.stopAt = stopAt;
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    Map<Endpoint, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    @Override
+    public void run() {
+        // Paced users start at a random point of their interval so they do not fire in lockstep
+        long next = System.nanoTime() + (intervalNanos > 0 ? (long) (random.nextDouble() * intervalNanos) : 0);
+        while (true) {
+            long scheduled;
+            if (intervalNanos > 0) {
+                scheduled = next;
+                next += intervalNanos;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+            } else {
+                scheduled = System.nanoTime();
+            }
+            if (scheduled - stopAt >= 0 || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            Endpoint endpoint = pick();
+            String status;
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request(endpoint), HttpResponse.BodyHandlers.discarding());
+                status = String.valueOf(response.statusCode());
+                success = response.statusCode() < 400;
+                if (endpoint == Endpoint.BROWSE) {
+                    cursor = success ? response.headers().firstValue(NEXT_CURSOR_HEADER).orElse(null) : null;
+                }
+            } catch (IOException e) {
+                status = LatencyRecorder.NO_RESPONSE;
+                success = false;
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (scheduled - measureFrom >= 0) {
+                recorders.get(endpoint).record(System.nanoTime() - scheduled, status, success);
+            }
+        }
+    }
+
+    private Endpoint pick() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case BROWSE -> get(browsePath());
+            case DETAIL -> get("/api/campaigns/" + hotCampaign());
+            case DONATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/campaigns/" + hotCampaign() + "/donations"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header("X-Client-Id", "loadtest-user-" + id)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"amount\": " + (5 + random.nextInt(96)) + ".00, \"donorName\": \"Load donor " + id
+                                    + "\", \"message\": \"Good luck!\"}"))
+                    .build();
+            case FILTER -> get("/api/campaigns?status=ACTIVE&limit=" + PAGE_SIZE + "&category="
+                    + CATEGORIES.get(random.nextInt(CATEGORIES.size())));
+        };
+    }
+
+    private String browsePath() {
+        if (cursor == null || pagesLeft == 0) {
+            browseSort = SORTS.get(random.nextInt(SORTS.size()));
+            pagesLeft = PAGES_PER_VISIT;
+            cursor = null;
+        }
+        pagesLeft--;
+        String path = "/api/campaigns?limit=" + PAGE_SIZE + "&sort=" + browseSort;
+        return cursor == null ? path : path + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    private long hotCampaign() {
+        return rankedCampaigns[zipf.next(random)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.service.DonationAdmission;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Admission control on the donation endpoints. Always registered, so {@code PUT /api/admin/admission/limits}
+ * can switch it on under load without a restart; a disabled {@link DonationAdmission} returns at once.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final DonationAdmission admission;
+    private final String clientHeader;
+
+    public AdmissionConfig(DonationAdmission admission,
+                           @Value("${donations.admission.client-header:}") String clientHeader) {
+        this.admission = admission;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DonationAdmissionInterceptor(admission, clientHeader, true))
+                .addPathPatterns("/api/campaigns/*/donations");
+        // A batch takes one slot per donation, admitted by the handler once the body is read
+        registry.addInterceptor(new DonationAdmissionInterceptor(admission, clientHeader, false))
+                .addPathPatterns("/api/campaigns/*/donations:batch");
+    }
+}
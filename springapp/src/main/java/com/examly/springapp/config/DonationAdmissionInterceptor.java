@@ -0,0 +1,63 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.service.DonationAdmission;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Puts donation POSTs through {@link DonationAdmission} before the body is read or a connection is taken.
+ * Clients are keyed by {@code clientHeader} when one is configured and present, by remote address otherwise.
+ * Where the number of donations is only known from the body ({@code chargeUpFront} off, as for batches), the
+ * client key is left in {@link DonationAdmission#CLIENT_ATTRIBUTE} for the handler to admit them itself.
+ */
+class DonationAdmissionInterceptor implements HandlerInterceptor {
+
+    private final DonationAdmission admission;
+    private final String clientHeader;
+    private final boolean chargeUpFront;
+
+    DonationAdmissionInterceptor(DonationAdmission admission, String clientHeader, boolean chargeUpFront) {
+        this.admission = admission;
+        this.clientHeader = clientHeader;
+        this.chargeUpFront = chargeUpFront;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String client = client(request);
+        if (!chargeUpFront) {
+            request.setAttribute(DonationAdmission.CLIENT_ATTRIBUTE, client);
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String campaignId = variables == null ? null : variables.get("campaignId");
+        if (campaignId == null) {
+            return true;
+        }
+        try {
+            admission.admit(Long.valueOf(campaignId), client);
+        } catch (NumberFormatException e) {
+            // Left for the handler's own path variable conversion to reject
+        }
+        return true;
+    }
+
+    private String client(HttpServletRequest request) {
+        if (!clientHeader.isEmpty()) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,82 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.service.CampaignCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Application-specific meters on top of what Actuator already records: {@code http.server.requests} per
+ * URI template, {@code spring.data.repository.invocations} per repository method and
+ * {@code hikaricp.connections.acquire} for pool wait time. Tags are kept to bounded value sets.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Boot's default Jackson converter with one that times response serialisation separately from
+     * the handler, tagged by format and the payload's type (e.g. {@code List<CampaignSummary>}). Small bodies
+     * are sent with their length so compression skips them (see {@link SizedResponseMessage}).
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, MeterRegistry registry,
+            @Value("${server.compression.enabled:false}") boolean compression,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        int threshold = SizedResponseMessage.threshold(compression, minResponseSize);
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                Timer.Sample sample = Timer.start(registry);
+                try {
+                    SizedResponseMessage.write(outputMessage, threshold,
+                            message -> super.writeInternal(object, type, message));
+                } finally {
+                    stopSerialization(registry, sample, "json", object);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder campaignCacheMetrics(CampaignCache campaignCache) {
+        return registry -> {
+            for (String counter : new String[]{"hits", "misses", "loads", "evictions", "expirations", "invalidations"}) {
+                FunctionCounter.builder("campaign.cache." + counter, campaignCache, c -> c.stats().get(counter))
+                        .register(registry);
+            }
+            Gauge.builder("campaign.cache.size", campaignCache, CampaignCache::size).register(registry);
+        };
+    }
+
+    static void stopSerialization(MeterRegistry registry, Timer.Sample sample, String format, Object body) {
+        sample.stop(Timer.builder("http.server.serialization")
+                .description("Time spent writing response bodies")
+                .tag("format", format)
+                .tag("payload", payloadName(body))
+                .register(registry));
+    }
+
+    static String payloadName(Object body) {
+        if (body instanceof Collection<?> collection) {
+            Object first = collection.isEmpty() ? null : collection.iterator().next();
+            return "List<" + (first == null ? "?" : first.getClass().getSimpleName()) + ">";
+        }
+        return body == null ? "null" : body.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,183 @@
+package com.examly.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas. With {@code campaigns.replicas.enabled=true} every {@code campaigns.replicas.nodes[n]} entry
+ * (name, url, username, password) becomes a replica of the application DataSource, which is wrapped in a
+ * {@link ReplicaRoutingDataSource}. Replica lag is checked on a schedule through the {@link ReplicaLagProbe}:
+ * {@code SHOW REPLICA STATUS} by default, or {@link SimulatedReplicaLag} with
+ * {@code campaigns.replicas.lag-probe=simulated}. With sharding on, the replicas belong to shard 0.
+ */
+@Configuration
+@ConditionalOnProperty(name = "campaigns.replicas.enabled", havingValue = "true")
+public class ReplicaConfig implements WebMvcConfigurer {
+
+    private final Duration maxLag;
+    private final Duration readYourWrites;
+
+    public ReplicaConfig(@Value("${campaigns.replicas.max-lag-ms:1000}") long maxLagMillis,
+                         @Value("${campaigns.replicas.read-your-writes-ms:2000}") long readYourWritesMillis) {
+        this.maxLag = Duration.ofMillis(maxLagMillis);
+        this.readYourWrites = Duration.ofMillis(readYourWritesMillis);
+    }
+
+    // Declared with its own type so Spring sees it is Ordered before creating it
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingDataSource(
+            Environment environment,
+            @Value("${campaigns.replicas.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${campaigns.replicas.read-your-writes-ms:2000}") long readYourWritesMillis,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return new ReplicaRoutingPostProcessor(environment, maxLagMillis, readYourWritesMillis, poolSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "campaigns.replicas.lag-probe", havingValue = "simulated")
+    public SimulatedReplicaLag simulatedReplicaLag() {
+        return new SimulatedReplicaLag();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplicaLagProbe replicaLagProbe() {
+        return ReplicaLagProbe.mysql();
+    }
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(DataSource dataSource, ReplicaLagProbe probe) throws SQLException {
+        return new ReplicaMonitor(dataSource.unwrap(ReplicaRoutingDataSource.class), probe);
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaMonitor monitor) {
+        ReplicaRoutingDataSource routing = monitor.routing;
+        return registry -> {
+            FunctionCounter.builder("jdbc.reads", routing, ReplicaRoutingDataSource::primaryReads)
+                    .description("Read-only connections by the database that served them")
+                    .tag("target", "primary")
+                    .register(registry);
+            routing.replicaReads().keySet().forEach(name ->
+                    FunctionCounter.builder("jdbc.reads", routing, r -> r.replicaReads().get(name))
+                            .description("Read-only connections by the database that served them")
+                            .tag("target", name)
+                            .register(registry));
+            Gauge.builder("jdbc.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                    .register(registry);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The cookie outlives any lag a replica may still be used with
+        registry.addInterceptor(new ReplicaRoutingInterceptor(readYourWrites.plus(maxLag), Clock.systemUTC()))
+                .addPathPatterns("/api/**");
+    }
+
+    static Map<String, DataSource> replicas(Environment environment, int poolSize) {
+        List<ReplicaProperties> nodes = Binder.get(environment)
+                .bind("campaigns.replicas.nodes", Bindable.listOf(ReplicaProperties.class))
+                .orElse(List.of());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaProperties node : nodes) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.url())
+                    .username(node.username())
+                    .password(node.password())
+                    .build();
+            dataSource.setPoolName("replica-" + node.name());
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setReadOnly(true);
+            replicas.put(node.name(), ThreadingConfig.bulkhead(dataSource, environment));
+        }
+        return replicas;
+    }
+
+    public record ReplicaProperties(String name, String url, String username, String password) {
+    }
+
+    // Ordered so it wraps the (bulkheaded) pool before sharding turns it into shard 0
+    static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final long maxLagMillis;
+        private final long readYourWritesMillis;
+        private final int poolSize;
+
+        private ReplicaRoutingPostProcessor(Environment environment, long maxLagMillis, long readYourWritesMillis,
+                                            int poolSize) {
+            this.environment = environment;
+            this.maxLagMillis = maxLagMillis;
+            this.readYourWritesMillis = readYourWritesMillis;
+            this.poolSize = poolSize;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof DataSource primary && !(bean instanceof ReplicaRoutingDataSource)
+                    && !(bean instanceof ShardRoutingDataSource)) {
+                return new ReplicaRoutingDataSource(primary, replicas(environment, poolSize),
+                        Duration.ofMillis(maxLagMillis), Duration.ofMillis(readYourWritesMillis), Clock.systemUTC());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+    }
+
+    /**
+     * Checks replica lag on a fixed delay, and once right after startup so replicas join rotation early.
+     */
+    public static class ReplicaMonitor {
+
+        private final ReplicaRoutingDataSource routing;
+        private final ReplicaLagProbe probe;
+
+        ReplicaMonitor(ReplicaRoutingDataSource routing, ReplicaLagProbe probe) {
+            this.routing = routing;
+            this.probe = probe;
+        }
+
+        @EventListener(ApplicationReadyEvent.class)
+        @Scheduled(fixedDelayString = "${campaigns.replicas.check-interval-ms:1000}")
+        public void check() {
+            routing.refresh(probe);
+        }
+
+        public ReplicaRoutingDataSource routing() {
+            return routing;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.examly.springapp.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Tells how far a read replica trails the primary. Throwing takes the replica out of rotation until a later
+ * check succeeds.
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    Duration lag(String replica, Connection connection) throws SQLException;
+
+    /**
+     * Reads {@code Seconds_Behind_Source} from {@code SHOW REPLICA STATUS}; a replica whose SQL thread is
+     * stopped reports no value and counts as unhealthy.
+     */
+    static ReplicaLagProbe mysql() {
+        return (replica, connection) -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!status.next()) {
+                    throw new SQLException("Replica " + replica + " is not replicating");
+                }
+                long seconds = status.getLong("Seconds_Behind_Source");
+                if (status.wasNull()) {
+                    throw new SQLException("Replication on " + replica + " is stopped");
+                }
+                return Duration.ofSeconds(seconds);
+            }
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.examly.springapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to read replicas and everything else to the primary.
+ *
+ * <p>Connections are handed out lazily, so the physical connection is only chosen once the transaction has
+ * been marked read-only. A replica is used only when the current thread allows it (request threads of safe
+ * HTTP methods, see {@link ReplicaRoutingInterceptor}); background work, event listeners and writes always
+ * read the primary. Replicas are picked round-robin among those that passed their last lag check with no
+ * more than {@code maxLag}. A client that wrote recently reads the primary until the replicas have had the
+ * read-your-writes window plus their current lag to catch up. If no replica qualifies, or one refuses a
+ * connection, the read goes to the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Epoch millis of the client's last write, 0 if none; unset means primary only
+    private static final ThreadLocal<Long> REPLICA_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long readYourWritesMillis;
+    private final Clock clock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, Duration readYourWrites, Clock clock) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(e -> new Replica(e.getKey(), e.getValue())).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.readYourWritesMillis = readYourWrites.toMillis();
+        this.clock = clock;
+        setReadOnlyDataSource(new ReadOnlySelector());
+    }
+
+    /**
+     * The last-write time replica reads on this thread are checked against, or null when they are not allowed.
+     */
+    public static Long lastWrite() {
+        return REPLICA_READS.get();
+    }
+
+    public static <T> T withReplicaReads(Long lastWrite, Supplier<T> work) {
+        Long previous = REPLICA_READS.get();
+        set(lastWrite);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        return withReplicaReads(null, work);
+    }
+
+    static void allowReplicaReads(long lastWrite) {
+        REPLICA_READS.set(lastWrite);
+    }
+
+    static void primaryOnly() {
+        REPLICA_READS.remove();
+    }
+
+    private static void set(Long lastWrite) {
+        if (lastWrite == null) {
+            REPLICA_READS.remove();
+        } else {
+            REPLICA_READS.set(lastWrite);
+        }
+    }
+
+    /**
+     * Re-checks every replica's health and lag.
+     */
+    public void refresh(ReplicaLagProbe probe) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.update(probe.lag(replica.name, connection).toMillis());
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    /**
+     * Read-only connections that went to the primary.
+     */
+    public long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    /**
+     * Read-only connections served by each replica, by name.
+     */
+    public Map<String, Long> replicaReads() {
+        Map<String, Long> reads = new LinkedHashMap<>();
+        replicas.forEach(replica -> reads.put(replica.name, replica.reads.sum()));
+        return reads;
+    }
+
+    /**
+     * The replicas' DataSources, by name.
+     */
+    public Map<String, DataSource> replicaDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    public long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        Long lastWrite = REPLICA_READS.get();
+        if (lastWrite != null && !replicas.isEmpty()) {
+            long now = clock.millis();
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.usable(now, lastWrite)) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder reads = new LongAdder();
+        // Down until the first successful check
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean usable(long now, long lastWrite) {
+            if (!healthy || lagMillis > maxLagMillis) {
+                return false;
+            }
+            return lastWrite == 0 || now - lastWrite >= readYourWritesMillis + lagMillis;
+        }
+
+        private void update(long lagMillis) {
+            this.lagMillis = lagMillis;
+            if (!healthy) {
+                log.info("Replica {} is back in rotation", name);
+            }
+            healthy = true;
+        }
+
+        private void markDown(Exception cause) {
+            if (healthy) {
+                log.warn("Replica {} taken out of rotation: {}", name, cause.getMessage());
+            }
+            healthy = false;
+        }
+    }
+
+    private final class ReadOnlySelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Replica connections use the configured credentials");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.examly.springapp.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Lets GET and HEAD requests read from replicas, and remembers when a client last wrote. Any other method
+ * reads the primary and stamps a {@value #LAST_WRITE_COOKIE} cookie, so the same client's reads skip
+ * replicas that may not have that write yet.
+ */
+class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String LAST_WRITE_COOKIE = "last_write";
+
+    private final Duration stickiness;
+    private final Clock clock;
+
+    ReplicaRoutingInterceptor(Duration stickiness, Clock clock) {
+        this.stickiness = stickiness;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            ReplicaRoutingDataSource.allowReplicaReads(lastWrite(request));
+            return true;
+        }
+        ReplicaRoutingDataSource.primaryOnly();
+        // Stamped before the write runs; the stickiness window covers the request itself
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, String.valueOf(clock.millis()))
+                .path("/")
+                .httpOnly(true)
+                .maxAge(stickiness)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.primaryOnly();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.primaryOnly();
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        // Tampered or foreign cookie: treat the client as having just written
+                        return Long.MAX_VALUE;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.examly.springapp.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cluster-wide id source for sharded tables. A row shares its id space with every shard, so an id can be
+ * drawn before the row's shard is known and then used to pick it. Blocks of {@link #BLOCK_SIZE} ids are
+ * reserved from {@code shard_id_blocks} on shard 0 (created by the V3 migration) and handed out from memory.
+ *
+ * <p>{@link #reserve} takes the next id for the calling thread ahead of the insert; the sequence generator
+ * then returns that id instead of a fresh one. Bulk inserts draw many ids with {@link #allocate(String, int)}
+ * and queue them with {@link #reserve(String, List)}, to be handed out in order. A sequence that has no block row yet starts above the
+ * largest id found on any shard, so existing data can be sharded in place.
+ */
+public class ShardIdAllocator {
+
+    /** Key under which the allocator is handed to Hibernate's session factory properties. */
+    public static final String PROPERTY = "crowdfunding.shard-id-allocator";
+    static final int BLOCK_SIZE = 1000;
+
+    private final DataSource catalog;
+    private final List<DataSource> shards;
+    private final Map<String, String> tables;
+    private final ThreadLocal<Map<String, Deque<Long>>> reserved = ThreadLocal.withInitial(HashMap::new);
+
+    // Guarded by this
+    private final Map<String, long[]> ranges = new HashMap<>();
+
+    /**
+     * @param tables sequence name to the table whose ids it issues, used to seed a new sequence
+     */
+    public ShardIdAllocator(List<DataSource> shards, Map<String, String> tables) {
+        this.catalog = shards.get(0);
+        this.shards = List.copyOf(shards);
+        this.tables = Map.copyOf(tables);
+    }
+
+    /**
+     * Draws the next id of {@code sequence} and keeps it for the next {@link #next} call on this thread.
+     */
+    public long reserve(String sequence) {
+        long id = allocate(sequence);
+        reserve(sequence, List.of(id));
+        return id;
+    }
+
+    /**
+     * Queues already drawn ids for the next {@link #next} calls on this thread, first to last.
+     */
+    public void reserve(String sequence, List<Long> ids) {
+        reserved.get().put(sequence, new ArrayDeque<>(ids));
+    }
+
+    public void release(String sequence) {
+        reserved.get().remove(sequence);
+    }
+
+    public long next(String sequence) {
+        Deque<Long> queued = reserved.get().get(sequence);
+        Long id = queued == null ? null : queued.poll();
+        return id != null ? id : allocate(sequence);
+    }
+
+    /**
+     * Draws {@code count} ids of {@code sequence} without reserving them.
+     */
+    public synchronized List<Long> allocate(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(allocate(sequence));
+        }
+        return ids;
+    }
+
+    private synchronized long allocate(String sequence) {
+        long[] range = ranges.get(sequence);
+        if (range == null || range[0] >= range[1]) {
+            long start = reserveBlock(sequence);
+            range = new long[]{start, start + BLOCK_SIZE};
+            ranges.put(sequence, range);
+        }
+        return range[0]++;
+    }
+
+    private long reserveBlock(String sequence) {
+        try (Connection connection = catalog.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long start = claim(connection, sequence);
+                connection.commit();
+                return start;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not reserve ids for " + sequence, e);
+        }
+    }
+
+    private long claim(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT next_val FROM shard_id_blocks WHERE sequence_name = ? FOR UPDATE")) {
+            select.setString(1, sequence);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    long start = rs.getLong(1);
+                    try (PreparedStatement update = connection.prepareStatement(
+                            "UPDATE shard_id_blocks SET next_val = ? WHERE sequence_name = ?")) {
+                        update.setLong(1, start + BLOCK_SIZE);
+                        update.setString(2, sequence);
+                        update.executeUpdate();
+                    }
+                    return start;
+                }
+            }
+        }
+        long start = highestExistingId(sequence) + 1;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO shard_id_blocks (sequence_name, next_val) VALUES (?, ?)")) {
+            insert.setString(1, sequence);
+            insert.setLong(2, start + BLOCK_SIZE);
+            insert.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Another node created the row first; take a block from it instead
+            connection.rollback();
+            return claim(connection, sequence);
+        }
+        return start;
+    }
+
+    private long highestExistingId(String sequence) throws SQLException {
+        String table = tables.get(sequence);
+        long highest = 0;
+        if (table == null) {
+            return highest;
+        }
+        for (DataSource shard : shards) {
+            try (Connection connection = shard.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT MAX(id) FROM " + table)) {
+                if (rs.next()) {
+                    highest = Math.max(highest, rs.getLong(1));
+                }
+            }
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,72 @@
+package com.examly.springapp.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring that places campaign ids on shards. Every shard owns {@link #VIRTUAL_NODES} points
+ * derived from its name, and an id belongs to the first point at or after its own hash. Adding a shard
+ * therefore takes over roughly 1/(n+1) of the ids, drawn evenly from the others, and leaves the rest in place.
+ */
+public final class ShardRing {
+
+    static final int VIRTUAL_NODES = 128;
+
+    private final List<String> names;
+    private final TreeMap<Long, Integer> points = new TreeMap<>();
+
+    public ShardRing(List<String> names) {
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.names = List.copyOf(names);
+        for (int shard = 0; shard < names.size(); shard++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                points.putIfAbsent(hash(names.get(shard) + "#" + node), shard);
+            }
+        }
+    }
+
+    public static ShardRing single() {
+        return new ShardRing(List.of("default"));
+    }
+
+    public int shardFor(long campaignId) {
+        if (names.size() == 1) {
+            return 0;
+        }
+        Map.Entry<Long, Integer> point = points.ceilingEntry(mix(campaignId));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String name(int shard) {
+        return names.get(shard);
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the same finaliser as ids so both land evenly on the ring
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // SplitMix64 finaliser: sequential ids spread across the whole ring
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,46 @@
+package com.examly.springapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Binds the owning shard for requests addressed to one campaign ({@code /api/campaigns/{id}/...}) before the
+ * controller runs, so every transaction the request opens lands on that shard.
+ */
+class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ShardRing ring;
+
+    ShardRoutingInterceptor(ShardRing ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            Object id = variables.containsKey("campaignId") ? variables.get("campaignId") : variables.get("id");
+            if (id instanceof String value) {
+                try {
+                    ShardRoutingDataSource.bind(ring.shardFor(Long.parseLong(value)));
+                } catch (NumberFormatException e) {
+                    // Not a campaign id; the controller reports the bad path variable
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ShardRoutingDataSource.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardRoutingDataSource.unbind();
+    }
+}
@@ -0,0 +1,58 @@
+package com.examly.springapp.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate applies the configured schema action ({@code spring.jpa.hibernate.ddl-auto}) once, through
+ * whichever shard the routing DataSource defaults to. This repeats the same action with the same mapping on
+ * every other shard as soon as the session factory exists, and their delayed drops when it closes.
+ */
+class ShardSchemaExporter implements Integrator {
+
+    private final int shardCount;
+
+    ShardSchemaExporter(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.addObserver(new SessionFactoryObserver() {
+            private final List<Runnable> drops = new ArrayList<>();
+
+            @Override
+            public void sessionFactoryCreated(SessionFactory factory) {
+                for (int shard = 1; shard < shardCount; shard++) {
+                    int target = shard;
+                    ShardRoutingDataSource.callOn(target, () -> {
+                        SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                                sessionFactory.getProperties(), action -> drops.add(() -> ShardRoutingDataSource.callOn(target, () -> {
+                                    action.perform(sessionFactory.getServiceRegistry());
+                                    return null;
+                                })));
+                        return null;
+                    });
+                }
+            }
+
+            @Override
+            public void sessionFactoryClosing(SessionFactory factory) {
+                drops.forEach(Runnable::run);
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
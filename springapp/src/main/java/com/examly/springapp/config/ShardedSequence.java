@@ -0,0 +1,22 @@
+package com.examly.springapp.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A pooled database sequence, like {@code @SequenceGenerator}, whose ids come from the
+ * {@link ShardIdAllocator} instead when sharding is enabled.
+ */
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedSequence {
+
+    String name();
+
+    int allocationSize() default 50;
+}
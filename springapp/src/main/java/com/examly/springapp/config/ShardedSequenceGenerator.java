@@ -0,0 +1,42 @@
+package com.examly.springapp.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Backs {@link ShardedSequence}. Configured exactly like a pooled {@link SequenceStyleGenerator}, so the
+ * sequence is still created and used when sharding is off; when the session factory carries a
+ * {@link ShardIdAllocator} every id is taken from it instead.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    private final String sequenceName;
+    private final int allocationSize;
+
+    public ShardedSequenceGenerator(ShardedSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.name();
+        this.allocationSize = config.allocationSize();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (session.getFactory().getProperties().get(ShardIdAllocator.PROPERTY) instanceof ShardIdAllocator ids) {
+            return ids.next(sequenceName);
+        }
+        return super.generate(session, object);
+    }
+}
@@ -0,0 +1,134 @@
+package com.examly.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Campaign sharding. With {@code campaigns.sharding.enabled=true} the application DataSource becomes shard 0
+ * and every {@code campaigns.sharding.shards[n]} entry (name, url, username, password) adds another. Campaigns
+ * are placed on the {@link ShardRing} by id, and donations and stats rows live with their campaign. Ids come
+ * from the cluster-wide {@link ShardIdAllocator}, so a new row's shard is known before it is inserted. Every
+ * shard carries the full schema and is migrated, in shard order, before Hibernate validates them.
+ *
+ * <p>Routing happens when a transaction acquires its connection, so open-in-view must be off: a request-wide
+ * EntityManager would keep the first shard's connection for every later transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "campaigns.sharding.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+    private final ShardRing shardRing;
+
+    public ShardingConfig(Environment environment,
+                          @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Campaign sharding requires spring.jpa.open-in-view=false");
+        }
+        this.shardRing = new ShardRing(shardNames(environment));
+    }
+
+    @Bean
+    public static BeanPostProcessor shardRoutingDataSource(
+            Environment environment,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource primary && !(bean instanceof ShardRoutingDataSource)) {
+                    List<DataSource> shards = new ArrayList<>();
+                    shards.add(primary);
+                    for (ShardProperties shard : shardProperties(environment)) {
+                        HikariDataSource dataSource = DataSourceBuilder.create()
+                                .type(HikariDataSource.class)
+                                .url(shard.url())
+                                .username(shard.username())
+                                .password(shard.password())
+                                .build();
+                        dataSource.setPoolName("shard-" + shard.name());
+                        dataSource.setMaximumPoolSize(poolSize);
+                        shards.add(ThreadingConfig.bulkhead(dataSource, environment));
+                    }
+                    return new ShardRoutingDataSource(shards);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ShardRing shardRing() {
+        return shardRing;
+    }
+
+    @Bean
+    public ShardIdAllocator shardIdAllocator(DataSource dataSource) throws SQLException {
+        ShardRoutingDataSource routing = dataSource.unwrap(ShardRoutingDataSource.class);
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < routing.shardCount(); i++) {
+            shards.add(routing.shard(i));
+        }
+        return new ShardIdAllocator(shards, Map.of("campaign_seq", "campaign", "donation_seq", "donation"));
+    }
+
+    // Flyway reads through the routing DataSource, so binding a shard points the whole migration at it
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigration() {
+        return flyway -> {
+            for (int shard = 0; shard < shardRing.size(); shard++) {
+                ShardRoutingDataSource.callOn(shard, flyway::migrate);
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties(ShardIdAllocator shardIdAllocator) {
+        return properties -> {
+            properties.put(ShardIdAllocator.PROPERTY, shardIdAllocator);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new ShardSchemaExporter(shardRing.size())));
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(shardRing))
+                .addPathPatterns("/api/campaigns/*", "/api/campaigns/*/**");
+    }
+
+    static List<ShardProperties> shardProperties(Environment environment) {
+        return Binder.get(environment)
+                .bind("campaigns.sharding.shards", Bindable.listOf(ShardProperties.class))
+                .orElse(List.of());
+    }
+
+    static List<String> shardNames(Environment environment) {
+        List<String> names = new ArrayList<>();
+        names.add(environment.getProperty("campaigns.sharding.primary-name", "shard0"));
+        shardProperties(environment).forEach(shard -> names.add(shard.name()));
+        return names;
+    }
+
+    public record ShardProperties(String name, String url, String username, String password) {
+    }
+}
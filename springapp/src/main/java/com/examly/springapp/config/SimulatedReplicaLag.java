@@ -0,0 +1,39 @@
+package com.examly.springapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lag probe for local runs and tests, selected with {@code campaigns.replicas.lag-probe=simulated}. Replicas
+ * report no lag until told otherwise; a failed replica makes every check throw.
+ */
+public class SimulatedReplicaLag implements ReplicaLagProbe {
+
+    private final Map<String, Duration> lags = new ConcurrentHashMap<>();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Duration lag(String replica, Connection connection) throws SQLException {
+        if (failed.contains(replica)) {
+            throw new SQLException("Simulated failure of replica " + replica);
+        }
+        return lags.getOrDefault(replica, Duration.ZERO);
+    }
+
+    public void setLag(String replica, Duration lag) {
+        lags.put(replica, lag);
+    }
+
+    public void fail(String replica) {
+        failed.add(replica);
+    }
+
+    public void reset() {
+        lags.clear();
+        failed.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package com.examly.springapp.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Holds back the start of a response body until it grows past {@code threshold} bytes. A body that ends
+ * below it is sent with its {@code Content-Length}, which is what lets the servlet container leave it
+ * uncompressed: Tomcat compresses every body of unknown length, and Jackson's converters stream theirs, so
+ * {@code server.compression.min-response-size} would otherwise never apply. A larger body streams through once
+ * the threshold is crossed, so no more than {@code threshold} bytes are ever buffered.
+ */
+final class SizedResponseMessage implements HttpOutputMessage {
+
+    private final HttpOutputMessage target;
+    private final int threshold;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream streaming;
+
+    private final OutputStream body = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            if (streaming == null && buffer.size() + len > threshold) {
+                streaming = target.getBody();
+                buffer.writeTo(streaming);
+            }
+            if (streaming != null) {
+                streaming.write(bytes, off, len);
+            } else {
+                buffer.write(bytes, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // A flush while buffering would commit the response before its length is known
+            if (streaming != null) {
+                streaming.flush();
+            }
+        }
+    };
+
+    private SizedResponseMessage(HttpOutputMessage target, int threshold) {
+        this.target = target;
+        this.threshold = threshold;
+    }
+
+    // Size below which bodies are sent uncompressed, or 0 when the container does not compress at all
+    static int threshold(boolean compression, DataSize minResponseSize) {
+        return compression ? (int) minResponseSize.toBytes() : 0;
+    }
+
+    /**
+     * Runs {@code writer} against a sized view of {@code target}; with a threshold of 0 (compression off) it
+     * writes to {@code target} directly.
+     */
+    static void write(HttpOutputMessage target, int threshold, BodyWriter writer) throws IOException {
+        if (threshold <= 0) {
+            writer.write(target);
+            return;
+        }
+        SizedResponseMessage sized = new SizedResponseMessage(target, threshold);
+        writer.write(sized);
+        sized.finish();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return target.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    private void finish() throws IOException {
+        if (streaming == null) {
+            target.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(target.getBody());
+        }
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+        void write(HttpOutputMessage message) throws IOException;
+    }
+}
@@ -0,0 +1,105 @@
+package com.examly.springapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Virtual-thread mode. With {@code spring.threads.virtual.enabled=true}, Boot runs Tomcat
+ * requests, {@code @Async}/MVC async work and scheduling on virtual threads; this configuration adds the
+ * {@link BulkheadDataSource} so that an unbounded number of request threads still meets the database through
+ * at most as many permits as the pool has connections.
+ *
+ * <p>Every connection pool gets its own bulkhead, sized to that pool: the application pool here, and the shard
+ * and replica pools through {@link #bulkhead} where {@link ShardingConfig} and {@link ReplicaConfig} build them.
+ * One bulkhead around the routing DataSource would let every permit queue on whichever pool is busiest.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadingConfig {
+
+    // Ordered ahead of replica routing and sharding, which wrap the application pool. The declared type is what
+    // tells Spring the processor is Ordered, so it must not be widened to BeanPostProcessor
+    @Bean
+    public static ConnectionBulkheadPostProcessor connectionBulkhead() {
+        return new ConnectionBulkheadPostProcessor();
+    }
+
+    @Bean
+    public MeterBinder connectionBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            for (BulkheadDataSource bulkhead : bulkheads(dataSource)) {
+                String pool = poolName(bulkhead);
+                Gauge.builder("jdbc.bulkhead.available", bulkhead, BulkheadDataSource::availablePermits)
+                        .tag("pool", pool)
+                        .register(registry);
+                Gauge.builder("jdbc.bulkhead.queued", bulkhead, BulkheadDataSource::queueLength)
+                        .tag("pool", pool)
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Wraps {@code pool} in a bulkhead of its own size when virtual threads are enabled, and returns it as is
+     * otherwise.
+     */
+    static DataSource bulkhead(HikariDataSource pool, Environment environment) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return pool;
+        }
+        return new BulkheadDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+    }
+
+    // Every bulkhead behind the application DataSource, including those of shard and replica pools
+    static List<BulkheadDataSource> bulkheads(DataSource dataSource) {
+        List<BulkheadDataSource> bulkheads = new ArrayList<>();
+        if (dataSource instanceof BulkheadDataSource bulkhead) {
+            bulkheads.add(bulkhead);
+        } else if (dataSource instanceof ShardRoutingDataSource shards) {
+            for (int i = 0; i < shards.shardCount(); i++) {
+                bulkheads.addAll(bulkheads(shards.shard(i)));
+            }
+        } else if (dataSource instanceof ReplicaRoutingDataSource replicas) {
+            bulkheads.addAll(bulkheads(replicas.getTargetDataSource()));
+            replicas.replicaDataSources().values().forEach(replica -> bulkheads.addAll(bulkheads(replica)));
+        }
+        return bulkheads;
+    }
+
+    private static String poolName(BulkheadDataSource bulkhead) {
+        try {
+            return bulkhead.unwrap(HikariDataSource.class).getPoolName();
+        } catch (SQLException e) {
+            return "default";
+        }
+    }
+
+    static final class ConnectionBulkheadPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof HikariDataSource pool) {
+                return new BulkheadDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
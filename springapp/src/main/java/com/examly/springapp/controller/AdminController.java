@@ -0,0 +1,76 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.dto.AdmissionLimits;
+import com.examly.springapp.service.CampaignCache;
+import com.examly.springapp.service.CampaignFacetService;
+import com.examly.springapp.service.CampaignStatsService;
+import com.examly.springapp.service.DonationAdmission;
+import com.examly.springapp.service.ShardRebalancer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final CampaignCache campaignCache;
+    private final CampaignStatsService campaignStatsService;
+    private final CampaignFacetService campaignFacetService;
+    private final ShardRebalancer shardRebalancer;
+    private final DonationAdmission donationAdmission;
+
+    public AdminController(CampaignCache campaignCache, CampaignStatsService campaignStatsService,
+                           CampaignFacetService campaignFacetService, ShardRebalancer shardRebalancer,
+                           DonationAdmission donationAdmission) {
+        this.campaignCache = campaignCache;
+        this.campaignStatsService = campaignStatsService;
+        this.campaignFacetService = campaignFacetService;
+        this.shardRebalancer = shardRebalancer;
+        this.donationAdmission = donationAdmission;
+    }
+
+    // GET /api/admin/cache/campaigns - hit/miss/eviction counters for tuning the campaign cache
+    @GetMapping("/cache/campaigns")
+    public ResponseEntity<Map<String, Long>> getCampaignCacheStats() {
+        return ResponseEntity.ok(campaignCache.stats());
+    }
+
+    // POST /api/admin/stats/rebuild - recompute campaign statistics from the donations table
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCampaignStats() {
+        return ResponseEntity.ok(Map.of("campaigns", campaignStatsService.rebuild()));
+    }
+
+    // POST /api/admin/facets/rebuild - recompute category/status counters from the campaigns table
+    @PostMapping("/facets/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCampaignFacets() {
+        return ResponseEntity.ok(Map.of("counters", campaignFacetService.rebuild()));
+    }
+
+    // POST /api/admin/shards/rebalance - move campaigns onto the shard the ring assigns them after adding a shard
+    @PostMapping("/shards/rebalance")
+    public ResponseEntity<Map<String, Integer>> rebalanceShards() {
+        return ResponseEntity.ok(Map.of("campaigns", shardRebalancer.rebalance()));
+    }
+
+    // GET /api/admin/admission/limits - current donation admission budgets
+    @GetMapping("/admission/limits")
+    public ResponseEntity<AdmissionLimits> getAdmissionLimits() {
+        return ResponseEntity.ok(donationAdmission.getLimits());
+    }
+
+    // PUT /api/admin/admission/limits - replace the budgets; takes effect from the next donation
+    @PutMapping("/admission/limits")
+    public ResponseEntity<AdmissionLimits> updateAdmissionLimits(@RequestBody AdmissionLimits limits) {
+        donationAdmission.setLimits(limits);
+        return ResponseEntity.ok(limits);
+    }
+
+    // GET /api/admin/admission/stats - rejection, delay and bucket counters
+    @GetMapping("/admission/stats")
+    public ResponseEntity<Map<String, Long>> getAdmissionStats() {
+        return ResponseEntity.ok(donationAdmission.stats());
+    }
+}
@@ -1,51 +1,203 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.CampaignFacets;
+import com.examly.springapp.dto.CampaignFilter;
+import com.examly.springapp.dto.CampaignImportFormat;
+import com.examly.springapp.dto.CampaignImportReport;
+import com.examly.springapp.dto.CampaignPage;
+import com.examly.springapp.dto.CampaignSort;
+import com.examly.springapp.dto.CampaignSummary;
+import com.examly.springapp.dto.LeaderboardType;
 import com.examly.springapp.model.Campaign;
-import com.examly.springapp.model.CampaignStatus;
-import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.model.RollupGranularity;
+import com.examly.springapp.service.CampaignCache;
+import com.examly.springapp.service.CampaignFacetService;
+import com.examly.springapp.service.CampaignImporter;
+import com.examly.springapp.service.CampaignLeaderboard;
+import com.examly.springapp.service.CampaignProgressBroadcaster;
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.CampaignStatsService;
+import com.examly.springapp.service.DonationRollupService;
+import com.examly.springapp.service.ShardRouter;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/campaigns")
 public class CampaignController {
 
-    private final CampaignRepository campaignRepository;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    public CampaignController(CampaignRepository campaignRepository) {
-        this.campaignRepository = campaignRepository;
+    private final CampaignService campaignService;
+    private final CampaignCache campaignCache;
+    private final CampaignStatsService campaignStatsService;
+    private final CampaignLeaderboard campaignLeaderboard;
+    private final CampaignProgressBroadcaster progressBroadcaster;
+    private final CampaignFacetService campaignFacetService;
+    private final DonationRollupService donationRollupService;
+    private final CampaignImporter campaignImporter;
+    private final ShardRouter shardRouter;
+    private final CacheControl listCacheControl;
+
+    public CampaignController(CampaignService campaignService,
+                              CampaignCache campaignCache,
+                              CampaignStatsService campaignStatsService,
+                              CampaignLeaderboard campaignLeaderboard,
+                              CampaignProgressBroadcaster progressBroadcaster,
+                              CampaignFacetService campaignFacetService,
+                              DonationRollupService donationRollupService,
+                              CampaignImporter campaignImporter,
+                              ShardRouter shardRouter,
+                              @Value("${campaigns.http.list-max-age-seconds:5}") long listMaxAgeSeconds) {
+        this.campaignService = campaignService;
+        this.campaignCache = campaignCache;
+        this.campaignStatsService = campaignStatsService;
+        this.campaignLeaderboard = campaignLeaderboard;
+        this.progressBroadcaster = progressBroadcaster;
+        this.campaignFacetService = campaignFacetService;
+        this.donationRollupService = donationRollupService;
+        this.campaignImporter = campaignImporter;
+        this.shardRouter = shardRouter;
+        this.listCacheControl = CacheControl.maxAge(listMaxAgeSeconds, TimeUnit.SECONDS);
     }
 
-    // Create a new campaign
+    // Create a new campaign on the shard its id hashes to
     @PostMapping
     public ResponseEntity<?> createCampaign(@Valid @RequestBody Campaign campaign) {
-        campaign.setStatus(CampaignStatus.ACTIVE);
-        Campaign saved = campaignRepository.save(campaign);
+        Campaign saved = shardRouter.onNewCampaign(() -> campaignService.createCampaign(campaign));
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
-    // Get all campaigns, with optional category filter
+    // POST /api/campaigns/import?format=ndjson|csv - bulk create from a partner catalog. The body is read row by
+    // row as it streams in; the response counts imported rows and lists rejected ones by line number
+    @PostMapping("/import")
+    public ResponseEntity<CampaignImportReport> importCampaigns(@RequestParam(required = false) String format,
+                                                                InputStream body) throws IOException {
+        return ResponseEntity.ok(campaignImporter.importCampaigns(body, CampaignImportFormat.fromParam(format)));
+    }
+
+    // Get one keyset page of campaign summaries, with optional category, status and deadline-range filters.
+    // The body stays a plain array; the opaque cursor for the next page is returned in the X-Next-Cursor header
+    // and a Link rel="next". List pages may be reused by clients for a few seconds.
     @GetMapping
-    public ResponseEntity<List<Campaign>> getAllCampaigns(@RequestParam(required = false) String category) {
-        List<Campaign> campaigns = (category == null || category.isEmpty()) ?
-                campaignRepository.findAll() :
-                campaignRepository.findByCategory(category);
-        return ResponseEntity.ok(campaigns);
+    public ResponseEntity<List<CampaignSummary>> getAllCampaigns(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CampaignSort campaignSort = CampaignSort.fromParam(sort);
+        CampaignFilter filter = new CampaignFilter(category, CampaignFilter.parseStatus(status), deadlineFrom, deadlineTo);
+        CampaignPage page = campaignService.listCampaigns(filter, campaignSort, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(listCacheControl);
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .replaceQueryParam("sort", campaignSort.getParam())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    // GET /api/campaigns/facets - campaign counts per category and per status from the maintained counters.
+    // ?status= narrows the category counts and ?category= narrows the status counts.
+    @GetMapping("/facets")
+    public ResponseEntity<CampaignFacets> getFacets(@RequestParam(required = false) String category,
+                                                    @RequestParam(required = false) String status) {
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+        return ResponseEntity.ok().cacheControl(listCacheControl)
+                .body(campaignFacetService.getFacets(categoryFilter, CampaignFilter.parseStatus(status)));
     }
 
-    // Get campaign by ID
+    // GET /api/campaigns/search?q= - ranked full-text search; the last word is matched as a prefix for typeahead
+    @GetMapping("/search")
+    public ResponseEntity<List<CampaignSummary>> searchCampaigns(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().cacheControl(listCacheControl).body(campaignService.searchCampaigns(q, limit));
+    }
+
+    // GET /api/campaigns/leaderboard/{most-funded|closest-to-goal|ending-soon} - served from in-memory rankings
+    @GetMapping("/leaderboard/{board}")
+    public ResponseEntity<List<CampaignSummary>> getLeaderboard(@PathVariable String board,
+                                                                @RequestParam(defaultValue = "0") int offset,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok().cacheControl(listCacheControl)
+                .body(campaignLeaderboard.top(LeaderboardType.fromParam(board), offset, limit));
+    }
+
+    // Get campaign by ID. Clients revalidate every time; a matching If-None-Match gets a 304, which needs no
+    // query while the campaign is cached
     @GetMapping("/{id}")
     public ResponseEntity<?> getCampaignById(@PathVariable Long id) {
-        Optional<Campaign> campaign = campaignRepository.findById(id);
+        Optional<Campaign> campaign = campaignCache.get(id);
         if (campaign.isPresent()) {
-            return ResponseEntity.ok(campaign.get());
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag(campaign.get()))
+                    .body(campaign.get());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Campaign not found");
         }
     }
+
+    // GET /api/campaigns/{id}/stats - maintained aggregates, no scan of the donations table
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getCampaignStats(@PathVariable Long id) {
+        if (campaignCache.get(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Campaign not found");
+        }
+        return ResponseEntity.ok(campaignStatsService.getStats(id));
+    }
+
+    // GET /api/campaigns/{id}/timeseries?granularity=minute|hour|day - donation count and sum per bucket for
+    // funding-velocity charts, optionally between from and to; cost follows the number of buckets, not donations
+    @GetMapping("/{id}/timeseries")
+    public ResponseEntity<?> getCampaignTimeseries(
+            @PathVariable Long id,
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        RollupGranularity bucketSize = RollupGranularity.fromParam(granularity);
+        if (campaignCache.get(id).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Campaign not found");
+        }
+        return ResponseEntity.ok(donationRollupService.getTimeseries(id, bucketSize, from, to));
+    }
+
+    // GET /api/campaigns/{id}/progress/stream - Server-Sent Events with coalesced funding progress,
+    // replacing polling of GET /{id} from the campaign details page
+    @GetMapping(value = "/{id}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(@PathVariable Long id) {
+        SseEmitter emitter = progressBroadcaster.subscribe(id)
+                .orElseThrow(() -> new EntityNotFoundException("Campaign with ID " + id + " not found"));
+        return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "no-cache").body(emitter);
+    }
+
+    // ETag of a campaign: its row version, which every write bumps. Weak, as the JSON, CBOR and Smile encodings
+    // (compressed or not) of one version share it
+    static String etag(Campaign campaign) {
+        return "W/\"" + campaign.getId() + "-" + campaign.getVersion() + "\"";
+    }
 }
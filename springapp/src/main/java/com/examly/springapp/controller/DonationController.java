@@ -1,69 +1,152 @@
 package com.examly.springapp.controller;
 
-import com.examly.springapp.model.Campaign;
-import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.dto.DonationExportFormat;
+import com.examly.springapp.dto.DonationSummary;
 import com.examly.springapp.model.Donation;
 import com.examly.springapp.repository.CampaignRepository;
 import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.DonationAdmission;
+import com.examly.springapp.service.DonationBatcher;
+import com.examly.springapp.service.DonationExporter;
+import com.examly.springapp.service.DonationService;
+import com.examly.springapp.service.DonationWatermarks;
+import com.examly.springapp.service.DonationWriteBehind;
+import com.examly.springapp.service.ShardRouter;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.OptionalLong;
 
 @RestController
-@RequestMapping("/api/campaigns/{campaignId}/donations")
+@RequestMapping("/api/campaigns/{campaignId}")
 public class DonationController {
 
-    private final CampaignRepository campaignRepository;
     private final DonationRepository donationRepository;
+    private final DonationService donationService;
+    private final DonationBatcher donationBatcher;
+    private final DonationAdmission donationAdmission;
+    private final DonationWriteBehind donationWriteBehind;
+    private final DonationExporter donationExporter;
+    private final DonationWatermarks donationWatermarks;
+    private final CampaignRepository campaignRepository;
+    private final ShardRouter shardRouter;
 
-    public DonationController(CampaignRepository campaignRepository, DonationRepository donationRepository) {
-        this.campaignRepository = campaignRepository;
+    public DonationController(DonationRepository donationRepository,
+                              DonationService donationService,
+                              DonationBatcher donationBatcher,
+                              DonationAdmission donationAdmission,
+                              DonationWriteBehind donationWriteBehind,
+                              DonationExporter donationExporter,
+                              DonationWatermarks donationWatermarks,
+                              CampaignRepository campaignRepository,
+                              ShardRouter shardRouter) {
         this.donationRepository = donationRepository;
+        this.donationService = donationService;
+        this.donationBatcher = donationBatcher;
+        this.donationAdmission = donationAdmission;
+        this.donationWriteBehind = donationWriteBehind;
+        this.donationExporter = donationExporter;
+        this.donationWatermarks = donationWatermarks;
+        this.campaignRepository = campaignRepository;
+        this.shardRouter = shardRouter;
     }
 
     // POST /api/campaigns/{id}/donations
-    @PostMapping
+    @PostMapping("/donations")
     public ResponseEntity<?> donateToCampaign(
             @PathVariable Long campaignId,
             @Valid @RequestBody Donation donation) {
 
-        Optional<Campaign> optionalCampaign = campaignRepository.findById(campaignId);
-        if (optionalCampaign.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("message", "Campaign not found"));
+        // Write-behind: durable in the local journal, applied to the database shortly after
+        if (donationWriteBehind.isEnabled()) {
+            Donation journaled = donationWriteBehind.donate(campaignId, donation);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(DonationSummary.of(journaled));
         }
 
-        Campaign campaign = optionalCampaign.get();
+        // Status/deadline checks and the funding increment happen atomically in the service;
+        // not-found and inactive campaigns surface through GlobalExceptionHandler
+        Donation saved = donationBatcher.isEnabled() ?
+                donationBatcher.donate(campaignId, donation) :
+                donationService.makeDonation(campaignId, donation);
 
-        // Check if campaign is ACTIVE and not expired
-        if (campaign.getStatus() != CampaignStatus.ACTIVE || campaign.getDeadline().isBefore(LocalDate.now())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("message", "Campaign is not ACTIVE or has expired"));
-        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(DonationSummary.of(saved));
+    }
+
+    // POST /api/campaigns/{id}/donations:batch
+    @PostMapping("/donations:batch")
+    public ResponseEntity<List<DonationSummary>> donateBatchToCampaign(
+            @PathVariable Long campaignId,
+            @RequestBody List<Donation> donations,
+            @RequestAttribute(name = DonationAdmission.CLIENT_ATTRIBUTE, required = false) String client) {
+        // Charged one admission slot per donation, so batching does not bypass the budgets
+        donationAdmission.admit(campaignId, client, donations.size());
+        List<Donation> saved = donationService.makeDonations(campaignId, donations);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved.stream().map(DonationSummary::of).toList());
+    }
 
-        // Save the donation
-        donation.setCampaign(campaign);
-        Donation saved = donationRepository.save(donation);
+    // GET /api/campaigns/{id}/donations
+    // The ETag is the campaign's donation watermark; while it is known, a matching If-None-Match is answered
+    // with a 304 before any query runs
+    @GetMapping("/donations")
+    public ResponseEntity<List<DonationSummary>> getDonationsByCampaign(@PathVariable Long campaignId,
+                                                                        WebRequest request) {
+        OptionalLong known = donationWatermarks.get(campaignId);
+        if (known.isPresent() && request.checkNotModified(etag(campaignId, known.getAsLong()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+        }
+        List<DonationSummary> donations = donationWatermarks.load(campaignId,
+                () -> donationRepository.findSummariesByCampaignId(campaignId));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag(campaignId, donations.size()))
+                .body(donations);
+    }
 
-        // Create response without campaign info
-        Donation response = new Donation();
-        response.setId(saved.getId());
-        response.setAmount(saved.getAmount());
-        response.setDonorName(saved.getDonorName());
-        response.setMessage(saved.getMessage());
+    // GET /api/campaigns/{id}/donations/export?format=ndjson|csv
+    // Rows are streamed from a database cursor straight into the response on an async thread
+    @GetMapping("/donations/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(@PathVariable Long campaignId,
+                                                                 @RequestParam(required = false) String format) {
+        DonationExportFormat exportFormat = DonationExportFormat.fromParam(format);
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new EntityNotFoundException("Campaign with ID " + campaignId + " not found");
+        }
+        String filename = "campaign-" + campaignId + "-donations." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> export(campaignId, exportFormat, out));
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    // The body is written on an async thread, so route it to the campaign's shard again there
+    private void export(Long campaignId, DonationExportFormat format, OutputStream out) throws IOException {
+        try {
+            shardRouter.onCampaign(campaignId, () -> {
+                try {
+                    donationExporter.export(campaignId, format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
-    // GET /api/campaigns/{id}/donations
-    @GetMapping
-    public ResponseEntity<List<Donation>> getDonationsByCampaign(@PathVariable Long campaignId) {
-        List<Donation> donations = donationRepository.findByCampaignId(campaignId);
-        return ResponseEntity.ok(donations);
+    // Weak for the same reason as CampaignController#etag
+    private static String etag(Long campaignId, long donations) {
+        return "W/\"" + campaignId + "-" + donations + "\"";
     }
 }
@@ -0,0 +1,29 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * Donation admission budgets. Rates are donations per second and bursts the number admitted back to back
+ * from an idle key; a rate of 0 leaves that key unlimited. Requests over budget wait up to {@code maxWaitMs},
+ * with at most {@code maxWaiting} of them waiting at once, and are rejected otherwise.
+ */
+public record AdmissionLimits(boolean enabled,
+                              double campaignRate,
+                              int campaignBurst,
+                              double clientRate,
+                              int clientBurst,
+                              long maxWaitMs,
+                              int maxWaiting) {
+
+    public AdmissionLimits {
+        if (campaignRate < 0 || clientRate < 0) {
+            throw new ValidationException("Rates must not be negative");
+        }
+        if (campaignBurst < 1 || clientBurst < 1) {
+            throw new ValidationException("Bursts must be at least 1");
+        }
+        if (maxWaitMs < 0 || maxWaiting < 0) {
+            throw new ValidationException("maxWaitMs and maxWaiting must not be negative");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the campaign listing: the sort key and id of the last row a client has seen.
+ * Serialised as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public final class CampaignCursor {
+
+    private final CampaignSort sort;
+    private final String key;
+    private final Long id;
+
+    private CampaignCursor(CampaignSort sort, String key, Long id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static CampaignCursor after(CampaignSort sort, CampaignSummary last) {
+        String key = switch (sort) {
+            case ID -> "";
+            case DEADLINE -> last.getDeadline().toString();
+            case CREATED_AT -> last.getCreatedAt().toString();
+        };
+        return new CampaignCursor(sort, key, last.getId());
+    }
+
+    public static CampaignCursor decode(String token, CampaignSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort.getParam())) {
+                throw new ValidationException("Cursor does not match the requested sort");
+            }
+            CampaignCursor cursor = new CampaignCursor(expectedSort, parts[1], Long.valueOf(parts[2]));
+            // Parse eagerly so a tampered key is rejected here rather than inside the query
+            cursor.deadline();
+            cursor.createdAt();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.getParam() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public LocalDate deadline() {
+        return sort == CampaignSort.DEADLINE ? LocalDate.parse(key) : null;
+    }
+
+    public LocalDateTime createdAt() {
+        return sort == CampaignSort.CREATED_AT ? LocalDateTime.parse(key) : null;
+    }
+}
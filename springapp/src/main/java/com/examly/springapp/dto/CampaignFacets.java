@@ -0,0 +1,22 @@
+package com.examly.springapp.dto;
+
+import java.util.Map;
+
+public class CampaignFacets {
+
+    private final Map<String, Long> categories;
+    private final Map<String, Long> statuses;
+
+    public CampaignFacets(Map<String, Long> categories, Map<String, Long> statuses) {
+        this.categories = categories;
+        this.statuses = statuses;
+    }
+
+    public Map<String, Long> getCategories() {
+        return categories;
+    }
+
+    public Map<String, Long> getStatuses() {
+        return statuses;
+    }
+}
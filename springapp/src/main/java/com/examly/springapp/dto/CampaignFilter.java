@@ -0,0 +1,62 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.CampaignCategories;
+import com.examly.springapp.model.CampaignStatus;
+import jakarta.validation.ValidationException;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Optional listing filters; any combination may be null. The category is held as its folded key, which is
+ * what campaigns are filtered on, so any spelling of a category matches all of its campaigns.
+ */
+public class CampaignFilter {
+
+    private final String category;
+    private final CampaignStatus status;
+    private final LocalDate deadlineFrom;
+    private final LocalDate deadlineTo;
+
+    public CampaignFilter(String category, CampaignStatus status, LocalDate deadlineFrom, LocalDate deadlineTo) {
+        this.category = category == null || category.isBlank() ? null : CampaignCategories.key(category);
+        this.status = status;
+        this.deadlineFrom = deadlineFrom;
+        this.deadlineTo = deadlineTo;
+        if (deadlineFrom != null && deadlineTo != null && deadlineFrom.isAfter(deadlineTo)) {
+            throw new ValidationException("deadlineFrom must not be after deadlineTo");
+        }
+    }
+
+    public static CampaignFilter byCategory(String category) {
+        return new CampaignFilter(category, null, null, null);
+    }
+
+    public static CampaignStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return CampaignStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown campaign status: " + status);
+        }
+    }
+
+    // The category key, or null
+    public String getCategory() {
+        return category;
+    }
+
+    public CampaignStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    public LocalDate getDeadlineTo() {
+        return deadlineTo;
+    }
+}
@@ -0,0 +1,20 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+public enum CampaignImportFormat {
+    NDJSON,
+    CSV;
+
+    public static CampaignImportFormat fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return NDJSON;
+        }
+        for (CampaignImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import format: " + param);
+    }
+}
@@ -0,0 +1,35 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every rejected row is counted; the first {@code errors} by line number are
+ * listed with the reason.
+ */
+public class CampaignImportReport {
+
+    private final long imported;
+    private final long failed;
+    private final List<RowError> errors;
+
+    public CampaignImportReport(long imported, long failed, List<RowError> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+/**
+ * One page of the campaign listing plus the opaque cursor for the next page (null on the last page).
+ */
+public class CampaignPage {
+
+    private final List<CampaignSummary> items;
+    private final String nextCursor;
+
+    public CampaignPage(List<CampaignSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CampaignSummary> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+
+import java.math.BigDecimal;
+
+// Payload of the progress stream: just what the progress bar needs
+public class CampaignProgress {
+
+    private final Long campaignId;
+    private final BigDecimal currentAmount;
+    private final BigDecimal goalAmount;
+    private final CampaignStatus status;
+
+    public CampaignProgress(Long campaignId, BigDecimal currentAmount, BigDecimal goalAmount, CampaignStatus status) {
+        this.campaignId = campaignId;
+        this.currentAmount = currentAmount;
+        this.goalAmount = goalAmount;
+        this.status = status;
+    }
+
+    public static CampaignProgress of(Campaign campaign) {
+        return new CampaignProgress(campaign.getId(), campaign.getCurrentAmount(), campaign.getGoalAmount(),
+                campaign.getStatus());
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public BigDecimal getCurrentAmount() {
+        return currentAmount;
+    }
+
+    public BigDecimal getGoalAmount() {
+        return goalAmount;
+    }
+
+    public CampaignStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,39 @@
+package com.examly.springapp.dto;
+
+// The text fields of a campaign that the search index tokenises
+public class CampaignSearchDocument {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String creatorName;
+
+    public CampaignSearchDocument(Long id, String title, String description, String category, String creatorName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.creatorName = creatorName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+}
@@ -0,0 +1,47 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+import java.util.Comparator;
+
+/**
+ * Stable orderings supported by the keyset-paginated campaign listing. Every ordering is tie-broken by id.
+ */
+public enum CampaignSort {
+    ID("id", Comparator.comparing(CampaignSummary::getId)),
+    DEADLINE("deadline", Comparator
+            .comparing(CampaignSummary::getDeadline, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CampaignSummary::getId)),
+    CREATED_AT("createdAt", Comparator
+            .comparing(CampaignSummary::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CampaignSummary::getId));
+
+    private final String param;
+    private final Comparator<CampaignSummary> order;
+
+    CampaignSort(String param, Comparator<CampaignSummary> order) {
+        this.param = param;
+        this.order = order;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    // Same order as the listing queries; used to merge pages fetched from several shards
+    public Comparator<CampaignSummary> order() {
+        return order;
+    }
+
+    public static CampaignSort fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return ID;
+        }
+        for (CampaignSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        throw new ValidationException("Unsupported sort: " + param);
+    }
+}
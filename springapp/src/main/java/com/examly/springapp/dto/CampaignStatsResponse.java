@@ -0,0 +1,53 @@
+package com.examly.springapp.dto;
+
+import java.math.BigDecimal;
+
+public class CampaignStatsResponse {
+
+    private final Long campaignId;
+    private final long donationCount;
+    private final BigDecimal totalAmount;
+    private final BigDecimal averageAmount;
+    private final BigDecimal maxAmount;
+    private final long donationsLastHour;
+    private final long donationsLastDay;
+
+    public CampaignStatsResponse(Long campaignId, long donationCount, BigDecimal totalAmount, BigDecimal averageAmount,
+                                 BigDecimal maxAmount, long donationsLastHour, long donationsLastDay) {
+        this.campaignId = campaignId;
+        this.donationCount = donationCount;
+        this.totalAmount = totalAmount;
+        this.averageAmount = averageAmount;
+        this.maxAmount = maxAmount;
+        this.donationsLastHour = donationsLastHour;
+        this.donationsLastDay = donationsLastDay;
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public long getDonationCount() {
+        return donationCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BigDecimal getAverageAmount() {
+        return averageAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public long getDonationsLastHour() {
+        return donationsLastHour;
+    }
+
+    public long getDonationsLastDay() {
+        return donationsLastDay;
+    }
+}
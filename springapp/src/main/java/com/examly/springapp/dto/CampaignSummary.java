@@ -0,0 +1,83 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.CampaignCategories;
+import com.examly.springapp.model.CampaignStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a Campaign. Leaves out the 1000-char description so listing pages stay small.
+ * The row version is carried for in-memory indexes to order snapshots by, but not serialized.
+ */
+public class CampaignSummary {
+
+    private final Long id;
+    private final String title;
+    private final BigDecimal goalAmount;
+    private final BigDecimal currentAmount;
+    private final String category;
+    private final String creatorName;
+    private final LocalDate deadline;
+    private final LocalDateTime createdAt;
+    private final CampaignStatus status;
+    private final long version;
+
+    public CampaignSummary(Long id, String title, BigDecimal goalAmount, BigDecimal currentAmount, String category,
+                           String creatorName, LocalDate deadline, LocalDateTime createdAt, CampaignStatus status,
+                           long version) {
+        this.id = id;
+        this.title = title;
+        this.goalAmount = goalAmount;
+        this.currentAmount = currentAmount;
+        this.category = CampaignCategories.intern(category);
+        this.creatorName = creatorName;
+        this.deadline = deadline;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public BigDecimal getGoalAmount() {
+        return goalAmount;
+    }
+
+    public BigDecimal getCurrentAmount() {
+        return currentAmount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public CampaignStatus getStatus() {
+        return status;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,61 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.RollupGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Donations per bucket for funding-velocity charts. Every bucket in the requested range is present, oldest
+ * first, including the ones without donations.
+ */
+public class CampaignTimeseries {
+
+    private final Long campaignId;
+    private final RollupGranularity granularity;
+    private final List<Bucket> buckets;
+
+    public CampaignTimeseries(Long campaignId, RollupGranularity granularity, List<Bucket> buckets) {
+        this.campaignId = campaignId;
+        this.granularity = granularity;
+        this.buckets = buckets;
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public RollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public static class Bucket {
+
+        private final LocalDateTime start;
+        private final long donationCount;
+        private final BigDecimal totalAmount;
+
+        public Bucket(LocalDateTime start, long donationCount, BigDecimal totalAmount) {
+            this.start = start;
+            this.donationCount = donationCount;
+            this.totalAmount = totalAmount;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public long getDonationCount() {
+            return donationCount;
+        }
+
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+    }
+}
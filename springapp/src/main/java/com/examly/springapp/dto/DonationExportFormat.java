@@ -0,0 +1,30 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+public enum DonationExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    DonationExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static DonationExportFormat fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return NDJSON;
+        }
+        for (DonationExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported export format: " + param);
+    }
+}
@@ -0,0 +1,51 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Donation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-side view of a Donation without its Campaign, returned by every donation endpoint.
+ */
+public class DonationSummary {
+
+    private final Long id;
+    private final BigDecimal amount;
+    private final String donorName;
+    private final String message;
+    private final LocalDateTime donatedAt;
+
+    public DonationSummary(Long id, BigDecimal amount, String donorName, String message, LocalDateTime donatedAt) {
+        this.id = id;
+        this.amount = amount;
+        this.donorName = donorName;
+        this.message = message;
+        this.donatedAt = donatedAt;
+    }
+
+    public static DonationSummary of(Donation donation) {
+        return new DonationSummary(donation.getId(), donation.getAmount(), donation.getDonorName(),
+                donation.getMessage(), donation.getDonatedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDonorName() {
+        return donorName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getDonatedAt() {
+        return donatedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.ValidationException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Comparator;
+
+/**
+ * Rankings served by the campaign leaderboard. Each ordering ends with id so every entry has a unique rank.
+ */
+public enum LeaderboardType {
+    MOST_FUNDED("most-funded", Comparator
+            .comparing(CampaignSummary::getCurrentAmount, Comparator.reverseOrder())
+            .thenComparing(CampaignSummary::getId)),
+    CLOSEST_TO_GOAL("closest-to-goal", Comparator
+            .comparing(LeaderboardType::fundingRatio, Comparator.reverseOrder())
+            .thenComparing(CampaignSummary::getId)),
+    ENDING_SOON("ending-soon", Comparator
+            .comparing(CampaignSummary::getDeadline)
+            .thenComparing(CampaignSummary::getId));
+
+    private final String param;
+    private final Comparator<CampaignSummary> order;
+
+    LeaderboardType(String param, Comparator<CampaignSummary> order) {
+        this.param = param;
+        this.order = order;
+    }
+
+    public Comparator<CampaignSummary> order() {
+        return order;
+    }
+
+    public static LeaderboardType fromParam(String param) {
+        for (LeaderboardType type : values()) {
+            if (type.param.equalsIgnoreCase(param)) {
+                return type;
+            }
+        }
+        throw new ValidationException("Unknown leaderboard: " + param);
+    }
+
+    static BigDecimal fundingRatio(CampaignSummary campaign) {
+        return campaign.getCurrentAmount().divide(campaign.getGoalAmount(), MathContext.DECIMAL64);
+    }
+}
@@ -0,0 +1,16 @@
+package com.examly.springapp.event;
+
+/**
+ * Published when a campaign is created, edited, changes status or is deleted. Carries only the id;
+ * listeners reload whatever they need once the change is committed.
+ */
+public record CampaignChangedEvent(Long campaignId, boolean deleted) {
+
+    public static CampaignChangedEvent updated(Long campaignId) {
+        return new CampaignChangedEvent(campaignId, false);
+    }
+
+    public static CampaignChangedEvent deleted(Long campaignId) {
+        return new CampaignChangedEvent(campaignId, true);
+    }
+}
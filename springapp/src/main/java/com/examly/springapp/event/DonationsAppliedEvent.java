@@ -0,0 +1,11 @@
+package com.examly.springapp.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when donations have been added to a campaign's funded total. {@code amount} is what this
+ * transaction added; after commit the row may already carry later changes, so listeners keeping a copy of the
+ * campaign re-read it rather than adding the delta to theirs.
+ */
+public record DonationsAppliedEvent(Long campaignId, BigDecimal amount, int count) {
+}
@@ -0,0 +1,26 @@
+package com.examly.springapp.exception;
+
+import java.time.Duration;
+
+/**
+ * A donation refused by admission control; answered with 429 and a {@code Retry-After} of {@link #getRetryAfter()}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // Whole seconds, rounded up and at least 1, as Retry-After requires
+    public long getRetryAfterSeconds() {
+        long seconds = retryAfter.toSeconds();
+        return Math.max(1, retryAfter.equals(Duration.ofSeconds(seconds)) ? seconds : seconds + 1);
+    }
+}
@@ -1,15 +1,28 @@
 package com.examly.springapp.model;
 
+import com.examly.springapp.config.ShardedSequence;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_campaign_category_key_id", columnList = "categoryKey, id"),
+        @Index(name = "idx_campaign_category_key_status_id", columnList = "categoryKey, status, id"),
+        @Index(name = "idx_campaign_status_id", columnList = "status, id"),
+        @Index(name = "idx_campaign_status_deadline_id", columnList = "status, deadline, id"),
+        @Index(name = "idx_campaign_deadline_id", columnList = "deadline, id"),
+        @Index(name = "idx_campaign_created_at_id", columnList = "createdAt, id")
+})
 public class Campaign {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedSequence(name = "campaign_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -25,9 +38,15 @@ public class Campaign {
     @DecimalMin(value = "50.0", message = "Goal amount must be at least 50")
     private BigDecimal goalAmount;
 
+    @Column(nullable = false)
+    private BigDecimal currentAmount = BigDecimal.ZERO;
+
     @NotBlank(message = "Category is required")
     private String category;
 
+    // Folded form of category that listings filter on and facets count by; see CampaignCategories
+    private String categoryKey;
+
     @NotBlank(message = "Creator name is required")
     private String creatorName;
 
@@ -35,8 +54,43 @@ public class Campaign {
     @Future(message = "Deadline must be a future date")
     private LocalDate deadline;
 
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
     @Enumerated(EnumType.STRING)
-    private CampaignStatus status;
+    private CampaignStatus status = CampaignStatus.ACTIVE;
+
+    // Bumped by every write, including the bulk UPDATEs in CampaignRepository; served as the ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Detached snapshot handed out by the campaign cache so callers never share a mutable instance
+    public Campaign copy() {
+        Campaign c = new Campaign();
+        c.id = id;
+        c.title = title;
+        c.description = description;
+        c.goalAmount = goalAmount;
+        c.currentAmount = currentAmount;
+        c.category = CampaignCategories.intern(category);
+        c.categoryKey = categoryKey;
+        c.creatorName = creatorName;
+        c.deadline = deadline;
+        c.createdAt = createdAt;
+        c.status = status;
+        c.version = version;
+        return c;
+    }
 
     // Getters and Setters
 
@@ -72,12 +126,26 @@ public class Campaign {
         this.goalAmount = goalAmount;
     }
 
+    public BigDecimal getCurrentAmount() {
+        return currentAmount;
+    }
+
+    public void setCurrentAmount(BigDecimal currentAmount) {
+        this.currentAmount = currentAmount;
+    }
+
     public String getCategory() {
         return category;
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.category = CampaignCategories.normalize(category);
+        this.categoryKey = CampaignCategories.key(category);
+    }
+
+    @JsonIgnore
+    public String getCategoryKey() {
+        return categoryKey;
     }
 
     public String getCreatorName() {
@@ -96,6 +164,14 @@ public class Campaign {
         this.deadline = deadline;
     }
 
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public CampaignStatus getStatus() {
         return status;
     }
@@ -103,4 +179,12 @@ public class Campaign {
     public void setStatus(CampaignStatus status) {
         this.status = status;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,60 @@
+package com.examly.springapp.model;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Campaign category spellings and keys. " AI  research" and "AI Research" are the same category: a campaign
+ * keeps the spelling it was written with, whitespace collapsed, and is stored with a {@link #key} that has
+ * the case folded as well. Filters and facet counters match on that key, so which spelling came first never
+ * matters and every node agrees without shared state.
+ *
+ * <p>Spellings read back from the database are interned so the many copies held by caches and in-memory
+ * indexes share one String per category. Interning never changes a value, and request input is never
+ * interned.
+ */
+public final class CampaignCategories {
+
+    private static final int MAX_INTERNED = 10_000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final ConcurrentHashMap<String, String> interned = new ConcurrentHashMap<>();
+
+    private CampaignCategories() {
+    }
+
+    // Spelling as stored: trimmed, with runs of whitespace collapsed to one space
+    public static String normalize(String category) {
+        if (category == null) {
+            return null;
+        }
+        return WHITESPACE.matcher(category.trim()).replaceAll(" ");
+    }
+
+    /**
+     * The key a category is stored, filtered and counted under: normalised and lower-cased.
+     */
+    public static String key(String category) {
+        String normalized = normalize(category);
+        return normalized == null ? null : normalized.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Shares the String of a category read from the database. Bounded so the pool cannot grow without limit;
+     * beyond it categories are returned as they are.
+     */
+    public static String intern(String category) {
+        if (category == null) {
+            return null;
+        }
+        String existing = interned.get(category);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() >= MAX_INTERNED) {
+            return category;
+        }
+        existing = interned.putIfAbsent(category, category);
+        return existing == null ? category : existing;
+    }
+}
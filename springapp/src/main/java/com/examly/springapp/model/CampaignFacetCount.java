@@ -0,0 +1,105 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Number of campaigns in one category and status, maintained alongside every write that creates, deletes,
+ * recategorises or changes the status of a campaign so facet counts never need a GROUP BY over campaigns.
+ * Rows are keyed by the category key; the spelling shown for it is the one the row was first written with.
+ */
+@Entity
+@Table(name = "campaign_facet_counts")
+@IdClass(CampaignFacetCount.Key.class)
+public class CampaignFacetCount {
+
+    @Id
+    private String categoryKey;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private CampaignStatus status;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private long campaignCount;
+
+    public CampaignFacetCount() {
+    }
+
+    public CampaignFacetCount(String categoryKey, String category, CampaignStatus status, long campaignCount) {
+        this.categoryKey = categoryKey;
+        this.category = category;
+        this.status = status;
+        this.campaignCount = campaignCount;
+    }
+
+    // Getters and Setters
+
+    public String getCategoryKey() {
+        return categoryKey;
+    }
+
+    public void setCategoryKey(String categoryKey) {
+        this.categoryKey = categoryKey;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public CampaignStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CampaignStatus status) {
+        this.status = status;
+    }
+
+    public long getCampaignCount() {
+        return campaignCount;
+    }
+
+    public void setCampaignCount(long campaignCount) {
+        this.campaignCount = campaignCount;
+    }
+
+    public static class Key implements Serializable {
+        private String categoryKey;
+        private CampaignStatus status;
+
+        public Key() {
+        }
+
+        public Key(String categoryKey, CampaignStatus status) {
+            this.categoryKey = categoryKey;
+            this.status = status;
+        }
+
+        public String getCategoryKey() {
+            return categoryKey;
+        }
+
+        public CampaignStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(categoryKey, other.categoryKey) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryKey, status);
+        }
+    }
+}
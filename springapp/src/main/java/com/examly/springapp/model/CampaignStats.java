@@ -0,0 +1,69 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Materialised funding aggregate for one campaign, maintained in the same transaction as each donation.
+ */
+@Entity
+@Table(name = "campaign_stats")
+public class CampaignStats {
+
+    @Id
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private long donationCount;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal maxAmount = BigDecimal.ZERO;
+
+    public CampaignStats() {
+    }
+
+    public CampaignStats(Long campaignId, long donationCount, BigDecimal totalAmount, BigDecimal maxAmount) {
+        this.campaignId = campaignId;
+        this.donationCount = donationCount;
+        this.totalAmount = totalAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    // Getters and Setters
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public void setCampaignId(Long campaignId) {
+        this.campaignId = campaignId;
+    }
+
+    public long getDonationCount() {
+        return donationCount;
+    }
+
+    public void setDonationCount(long donationCount) {
+        this.donationCount = donationCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+}
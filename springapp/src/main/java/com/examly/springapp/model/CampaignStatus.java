@@ -3,5 +3,6 @@ package com.examly.springapp.model;
 public enum CampaignStatus {
     ACTIVE,
     COMPLETED,
+    EXPIRED,
     CANCELLED
 }
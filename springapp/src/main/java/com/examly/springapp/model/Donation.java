@@ -1,17 +1,24 @@
 package com.examly.springapp.model;
 
+import com.examly.springapp.config.ShardedSequence;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_donation_campaign_donated_at", columnList = "campaign_id, donatedAt"),
+        @Index(name = "idx_donation_donated_at", columnList = "donatedAt")})
 public class Donation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (hi-lo style) instead of IDENTITY so Hibernate can batch INSERTs; sharded ids are cluster-wide
+    @ShardedSequence(name = "donation_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Donation amount is required")
@@ -23,10 +30,22 @@ public class Donation {
 
     private String message;
 
-    @ManyToOne
+    @Column(updatable = false)
+    private LocalDateTime donatedAt;
+
+    // Lazy and never serialised: responses use DonationSummary, and writes only need the foreign key
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "campaign_id", nullable = false)
     private Campaign campaign;
 
+    @PrePersist
+    void onCreate() {
+        if (donatedAt == null) {
+            donatedAt = LocalDateTime.now();
+        }
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -61,6 +80,14 @@ public class Donation {
         this.message = message;
     }
 
+    public LocalDateTime getDonatedAt() {
+        return donatedAt;
+    }
+
+    public void setDonatedAt(LocalDateTime donatedAt) {
+        this.donatedAt = donatedAt;
+    }
+
     public Campaign getCampaign() {
         return campaign;
     }
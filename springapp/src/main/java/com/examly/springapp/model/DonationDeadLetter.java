@@ -0,0 +1,187 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A journaled donation the database refused when it was drained, typically because its campaign closed after
+ * the donation was acknowledged. Written in the same transaction that advances the journal checkpoint past it,
+ * so the record outlives its journal segment and can be refunded or re-applied by hand.
+ */
+@Entity
+@Table(name = "donation_dead_letters",
+        indexes = @Index(name = "idx_dead_letter_campaign", columnList = "campaign_id"))
+@IdClass(DonationDeadLetter.Key.class)
+public class DonationDeadLetter implements Persistable<DonationDeadLetter.Key> {
+
+    @Id
+    private String journalId;
+
+    @Id
+    private long journalSequence;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    private String donorName;
+
+    private String message;
+
+    private LocalDateTime donatedAt;
+
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime refusedAt;
+
+    // Dead letters are only ever inserted; skips the SELECT that merge() would issue for an assigned id
+    @Transient
+    private boolean persisted;
+
+    public DonationDeadLetter() {
+    }
+
+    public DonationDeadLetter(String journalId, long journalSequence, Long campaignId, BigDecimal amount,
+                              String donorName, String message, LocalDateTime donatedAt, String reason,
+                              LocalDateTime refusedAt) {
+        this.journalId = journalId;
+        this.journalSequence = journalSequence;
+        this.campaignId = campaignId;
+        this.amount = amount;
+        this.donorName = donorName;
+        this.message = message;
+        this.donatedAt = donatedAt;
+        this.reason = reason;
+        this.refusedAt = refusedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(journalId, journalSequence);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    // Getters and Setters
+
+    public String getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(String journalId) {
+        this.journalId = journalId;
+    }
+
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    public void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public void setCampaignId(Long campaignId) {
+        this.campaignId = campaignId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDonorName() {
+        return donorName;
+    }
+
+    public void setDonorName(String donorName) {
+        this.donorName = donorName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getDonatedAt() {
+        return donatedAt;
+    }
+
+    public void setDonatedAt(LocalDateTime donatedAt) {
+        this.donatedAt = donatedAt;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getRefusedAt() {
+        return refusedAt;
+    }
+
+    public void setRefusedAt(LocalDateTime refusedAt) {
+        this.refusedAt = refusedAt;
+    }
+
+    public static class Key implements Serializable {
+        private String journalId;
+        private long journalSequence;
+
+        public Key() {
+        }
+
+        public Key(String journalId, long journalSequence) {
+            this.journalId = journalId;
+            this.journalSequence = journalSequence;
+        }
+
+        public String getJournalId() {
+            return journalId;
+        }
+
+        public long getJournalSequence() {
+            return journalSequence;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(journalId, other.journalId)
+                    && journalSequence == other.journalSequence;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(journalId, journalSequence);
+        }
+    }
+}
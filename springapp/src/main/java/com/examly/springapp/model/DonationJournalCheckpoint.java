@@ -0,0 +1,44 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Highest donation journal sequence already applied to the database, advanced in the same transaction as the
+ * donations it covers so a replay after a crash skips exactly what was committed.
+ */
+@Entity
+@Table(name = "donation_journal_checkpoints")
+public class DonationJournalCheckpoint {
+
+    @Id
+    private String journalId;
+
+    @Column(nullable = false)
+    private long appliedSequence;
+
+    public DonationJournalCheckpoint() {
+    }
+
+    public DonationJournalCheckpoint(String journalId, long appliedSequence) {
+        this.journalId = journalId;
+        this.appliedSequence = appliedSequence;
+    }
+
+    // Getters and Setters
+
+    public String getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(String journalId) {
+        this.journalId = journalId;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public void setAppliedSequence(long appliedSequence) {
+        this.appliedSequence = appliedSequence;
+    }
+}
@@ -0,0 +1,44 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+/**
+ * First epoch minute not yet compacted into {@link DonationRollup} rows. Advanced in the same transaction as
+ * the rows it covers, so rollup rows plus the donations from this minute on count every donation once.
+ */
+@Entity
+@Table(name = "donation_rollup_watermarks")
+public class DonationRollupWatermark {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long compactedUntil;
+
+    public DonationRollupWatermark() {
+    }
+
+    public DonationRollupWatermark(String name, long compactedUntil) {
+        this.name = name;
+        this.compactedUntil = compactedUntil;
+    }
+
+    // Getters and Setters
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCompactedUntil() {
+        return compactedUntil;
+    }
+
+    public void setCompactedUntil(long compactedUntil) {
+        this.compactedUntil = compactedUntil;
+    }
+}
@@ -0,0 +1,50 @@
+package com.examly.springapp.model;
+
+import jakarta.validation.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Width of a donation rollup bucket. Buckets are numbered from the epoch in UTC, so bucket {@code n} of a
+ * granularity covers epoch minutes {@code [n * minutes, (n + 1) * minutes)}.
+ */
+public enum RollupGranularity {
+    MINUTE(1),
+    HOUR(60),
+    DAY(24 * 60);
+
+    private final long minutes;
+
+    RollupGranularity(long minutes) {
+        this.minutes = minutes;
+    }
+
+    public long getMinutes() {
+        return minutes;
+    }
+
+    public long bucketOf(long epochMinute) {
+        return Math.floorDiv(epochMinute, minutes);
+    }
+
+    public long firstMinute(long bucket) {
+        return bucket * minutes;
+    }
+
+    public LocalDateTime start(long bucket) {
+        return LocalDateTime.ofEpochSecond(firstMinute(bucket) * 60, 0, ZoneOffset.UTC);
+    }
+
+    public static RollupGranularity fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return HOUR;
+        }
+        for (RollupGranularity granularity : values()) {
+            if (granularity.name().equalsIgnoreCase(param)) {
+                return granularity;
+            }
+        }
+        throw new ValidationException("Unsupported granularity: " + param);
+    }
+}
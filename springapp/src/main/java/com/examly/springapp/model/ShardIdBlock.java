@@ -0,0 +1,45 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Next unreserved id of a cluster-wide sequence. The shard id allocator claims blocks from these rows over
+ * plain JDBC; the mapping keeps the table under schema validation with the rest.
+ */
+@Entity
+@Table(name = "shard_id_blocks")
+public class ShardIdBlock {
+
+    @Id
+    @Column(length = 64)
+    private String sequenceName;
+
+    @Column(nullable = false)
+    private long nextVal;
+
+    public ShardIdBlock() {
+    }
+
+    public ShardIdBlock(String sequenceName, long nextVal) {
+        this.sequenceName = sequenceName;
+        this.nextVal = nextVal;
+    }
+
+    // Getters and Setters
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public void setSequenceName(String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public long getNextVal() {
+        return nextVal;
+    }
+
+    public void setNextVal(long nextVal) {
+        this.nextVal = nextVal;
+    }
+}
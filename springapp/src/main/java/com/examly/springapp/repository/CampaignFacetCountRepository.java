@@ -0,0 +1,36 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.CampaignFacetCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CampaignFacetCountRepository extends JpaRepository<CampaignFacetCount, CampaignFacetCount.Key> {
+
+    // Single-statement upsert so two transactions creating the first campaign of a category cannot both insert;
+    // the spelling is only written by the insert, so a row keeps the first one it was created with
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO campaign_facet_counts (category_key, status, category, campaign_count) " +
+            "VALUES (:categoryKey, :status, :category, :delta) " +
+            "ON DUPLICATE KEY UPDATE campaign_count = campaign_count + :delta", nativeQuery = true)
+    int adjust(@Param("categoryKey") String categoryKey, @Param("category") String category,
+               @Param("status") String status, @Param("delta") long delta);
+
+    // Read as a projection rather than entities: adjust() bypasses the persistence context, so managed
+    // counter entities would go stale within a transaction
+    @Query("SELECT new com.examly.springapp.model.CampaignFacetCount(f.categoryKey, f.category, f.status, " +
+            "f.campaignCount) FROM CampaignFacetCount f WHERE f.campaignCount > 0")
+    List<CampaignFacetCount> findNonEmpty();
+
+    // Spelling each category key is reported under, including keys whose counters are all zero
+    @Query("SELECT f.categoryKey, MIN(f.category) FROM CampaignFacetCount f GROUP BY f.categoryKey")
+    List<Object[]> findSpellings();
+
+    // Full recomputation from the campaigns table, used only by the rebuild command
+    @Query("SELECT new com.examly.springapp.model.CampaignFacetCount(c.categoryKey, MIN(c.category), c.status, " +
+            "COUNT(c)) FROM Campaign c WHERE c.categoryKey IS NOT NULL GROUP BY c.categoryKey, c.status")
+    List<CampaignFacetCount> aggregateFromCampaigns();
+}
@@ -1,9 +1,135 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.CampaignSearchDocument;
+import com.examly.springapp.dto.CampaignSummary;
 import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Query methods run read-only so they can be served by a replica; updates declare their own transaction
+@Transactional(readOnly = true)
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+    String SEARCH_DOCUMENT = "new com.examly.springapp.dto.CampaignSearchDocument(c.id, c.title, c.description, " +
+            "c.category, c.creatorName)";
+    String SUMMARY = "new com.examly.springapp.dto.CampaignSummary(c.id, c.title, c.goalAmount, c.currentAmount, " +
+            "c.category, c.creatorName, c.deadline, c.createdAt, c.status, c.version)";
+
+    // Combined listing filters; each is skipped when its parameter is null
+    String FILTER = "(:category IS NULL OR c.categoryKey = :category) " +
+            "AND (:status IS NULL OR c.status = :status) " +
+            "AND (:deadlineFrom IS NULL OR c.deadline >= :deadlineFrom) " +
+            "AND (:deadlineTo IS NULL OR c.deadline <= :deadlineTo) ";
+
     List<Campaign> findByCategory(String category);
+
+    // Keyset pages over the summary projection. A null afterId means "first page"; every ordering is
+    // tie-broken by id so the (key, id) pair is unique and the matching composite index serves the scan.
+    @Query("SELECT " + SUMMARY + " FROM Campaign c " +
+            "WHERE " + FILTER +
+            "AND (:afterId IS NULL OR c.id > :afterId) " +
+            "ORDER BY c.id")
+    List<CampaignSummary> findSummariesById(@Param("category") String category,
+                                            @Param("status") CampaignStatus status,
+                                            @Param("deadlineFrom") LocalDate deadlineFrom,
+                                            @Param("deadlineTo") LocalDate deadlineTo,
+                                            @Param("afterId") Long afterId,
+                                            Pageable page);
+
+    @Query("SELECT " + SUMMARY + " FROM Campaign c " +
+            "WHERE " + FILTER +
+            "AND (:afterId IS NULL OR c.deadline > :afterDeadline " +
+            "     OR (c.deadline = :afterDeadline AND c.id > :afterId)) " +
+            "ORDER BY c.deadline, c.id")
+    List<CampaignSummary> findSummariesByDeadline(@Param("category") String category,
+                                                  @Param("status") CampaignStatus status,
+                                                  @Param("deadlineFrom") LocalDate deadlineFrom,
+                                                  @Param("deadlineTo") LocalDate deadlineTo,
+                                                  @Param("afterDeadline") LocalDate afterDeadline,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable page);
+
+    @Query("SELECT " + SUMMARY + " FROM Campaign c " +
+            "WHERE " + FILTER +
+            "AND (:afterId IS NULL OR c.createdAt > :afterCreatedAt " +
+            "     OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt, c.id")
+    List<CampaignSummary> findSummariesByCreatedAt(@Param("category") String category,
+                                                   @Param("status") CampaignStatus status,
+                                                   @Param("deadlineFrom") LocalDate deadlineFrom,
+                                                   @Param("deadlineTo") LocalDate deadlineTo,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable page);
+
+    @Query("SELECT " + SUMMARY + " FROM Campaign c WHERE c.id = :id")
+    Optional<CampaignSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT " + SUMMARY + " FROM Campaign c WHERE c.id IN :ids")
+    List<CampaignSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT " + SEARCH_DOCUMENT + " FROM Campaign c WHERE c.id = :id")
+    Optional<CampaignSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    @Query("SELECT " + SEARCH_DOCUMENT + " FROM Campaign c")
+    Stream<CampaignSearchDocument> streamSearchDocuments();
+
+    @Query("SELECT " + SUMMARY + " FROM Campaign c WHERE c.status = :status")
+    Stream<CampaignSummary> streamSummariesByStatus(@Param("status") CampaignStatus status);
+
+    @Query("SELECT c.id, c.deadline FROM Campaign c WHERE c.status = com.examly.springapp.model.CampaignStatus.ACTIVE")
+    Stream<Object[]> streamActiveDeadlines();
+
+    // Per category, how many of the listed campaigns closeExpired is about to move to COMPLETED and to EXPIRED
+    @Query("SELECT c.category, CASE WHEN c.currentAmount >= c.goalAmount " +
+            "THEN com.examly.springapp.model.CampaignStatus.COMPLETED " +
+            "ELSE com.examly.springapp.model.CampaignStatus.EXPIRED END, COUNT(c) " +
+            "FROM Campaign c WHERE c.id IN :ids AND c.status = com.examly.springapp.model.CampaignStatus.ACTIVE " +
+            "AND c.deadline < :today GROUP BY c.category, CASE WHEN c.currentAmount >= c.goalAmount " +
+            "THEN com.examly.springapp.model.CampaignStatus.COMPLETED " +
+            "ELSE com.examly.springapp.model.CampaignStatus.EXPIRED END")
+    List<Object[]> countExpiring(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    // Moves every listed ACTIVE campaign whose deadline has passed to its final status in one statement
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Campaign c SET c.status = CASE WHEN c.currentAmount >= c.goalAmount " +
+            "THEN com.examly.springapp.model.CampaignStatus.COMPLETED " +
+            "ELSE com.examly.springapp.model.CampaignStatus.EXPIRED END, c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.status = com.examly.springapp.model.CampaignStatus.ACTIVE " +
+            "AND c.deadline < :today")
+    int closeExpired(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    // Adds to the funded total inside the database so concurrent donations never overwrite each other.
+    // Returns 0 when the campaign is missing, no longer ACTIVE or past its deadline. Pending inserts are flushed
+    // first and the context cleared afterwards so a stale managed Campaign can never be written back over the new total.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Campaign c SET c.currentAmount = c.currentAmount + :amount, c.version = c.version + 1 " +
+            "WHERE c.id = :id AND c.status = com.examly.springapp.model.CampaignStatus.ACTIVE " +
+            "AND c.deadline >= :today")
+    int incrementCurrentAmount(@Param("id") Long id,
+                               @Param("amount") BigDecimal amount,
+                               @Param("today") LocalDate today);
+
+    // Flips an ACTIVE campaign to COMPLETED once the stored total reaches the goal, without touching currentAmount.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Campaign c SET c.status = com.examly.springapp.model.CampaignStatus.COMPLETED, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.id = :id AND c.status = com.examly.springapp.model.CampaignStatus.ACTIVE " +
+            "AND c.currentAmount >= c.goalAmount")
+    int markCompletedIfFunded(@Param("id") Long id);
 }
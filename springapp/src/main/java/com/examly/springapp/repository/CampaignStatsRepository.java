@@ -0,0 +1,39 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.CampaignStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CampaignStatsRepository extends JpaRepository<CampaignStats, Long> {
+
+    // Folds a group of donations into the aggregate row; returns 0 if the row does not exist yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CampaignStats s SET s.donationCount = s.donationCount + :count, " +
+            "s.totalAmount = s.totalAmount + :total, " +
+            "s.maxAmount = CASE WHEN s.maxAmount < :max THEN :max ELSE s.maxAmount END " +
+            "WHERE s.campaignId = :campaignId")
+    int addDonations(@Param("campaignId") Long campaignId,
+                     @Param("count") long count,
+                     @Param("total") BigDecimal total,
+                     @Param("max") BigDecimal max);
+
+    // Full recomputation from the donations table, used only by the rebuild command
+    @Query("SELECT new com.examly.springapp.model.CampaignStats(d.campaign.id, COUNT(d), SUM(d.amount), MAX(d.amount)) " +
+            "FROM Donation d GROUP BY d.campaign.id")
+    List<CampaignStats> aggregateFromDonations();
+
+    // Replays recent donation times into the in-memory windows; streamed because a busy day is millions of rows
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.campaign.id, d.donatedAt FROM Donation d WHERE d.donatedAt >= :since")
+    Stream<Object[]> streamDonationTimesSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,11 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.DonationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DonationDeadLetterRepository extends JpaRepository<DonationDeadLetter, DonationDeadLetter.Key> {
+
+    List<DonationDeadLetter> findByCampaignIdOrderByJournalSequence(Long campaignId);
+}
@@ -0,0 +1,16 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.DonationJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DonationJournalCheckpointRepository extends JpaRepository<DonationJournalCheckpoint, String> {
+
+    // Only ever moves forward; returns 0 when the checkpoint is already at or past the sequence
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DonationJournalCheckpoint j SET j.appliedSequence = :sequence " +
+            "WHERE j.journalId = :journalId AND j.appliedSequence < :sequence")
+    int advance(@Param("journalId") String journalId, @Param("sequence") long sequence);
+}
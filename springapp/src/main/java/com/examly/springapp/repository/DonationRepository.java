@@ -1,9 +1,35 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.DonationSummary;
 import com.examly.springapp.model.Donation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
+import java.util.stream.Stream;
 
+// Query methods run read-only so they can be served by a replica
+@Transactional(readOnly = true)
 public interface DonationRepository extends JpaRepository<Donation, Long> {
+    String SUMMARY = "new com.examly.springapp.dto.DonationSummary(d.id, d.amount, d.donorName, d.message, d.donatedAt)";
+
     List<Donation> findByCampaignId(Long campaignId);
+
+    // Read path for the donations list: one statement against the (campaign_id, donatedAt) index, no Campaign join
+    @Query("SELECT " + SUMMARY + " FROM Donation d WHERE d.campaign.id = :campaignId ORDER BY d.id")
+    List<DonationSummary> findSummariesByCampaignId(@Param("campaignId") Long campaignId);
+
+    // Forward-only cursor over a campaign's donations for exports. Rows are DTOs rather than entities so the
+    // persistence context does not grow with the result; must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + SUMMARY + " FROM Donation d WHERE d.campaign.id = :campaignId ORDER BY d.id")
+    Stream<DonationSummary> streamByCampaignId(@Param("campaignId") Long campaignId);
 }
@@ -0,0 +1,59 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.DonationRollup;
+import com.examly.springapp.model.RollupGranularity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface DonationRollupRepository extends JpaRepository<DonationRollup, DonationRollup.Key> {
+
+    // Read path for timeseries charts: a range scan of the (campaign_id, granularity, bucket) index,
+    // read-only so it can be served by a replica
+    @Transactional(readOnly = true)
+    @Query("SELECT r FROM DonationRollup r WHERE r.campaignId = :campaignId AND r.granularity = :granularity " +
+            "AND r.bucket BETWEEN :from AND :to ORDER BY r.bucket")
+    List<DonationRollup> findSeries(@Param("campaignId") Long campaignId,
+                                    @Param("granularity") RollupGranularity granularity,
+                                    @Param("from") long from,
+                                    @Param("to") long to);
+
+    // Every campaign's buckets in [from, to), for compaction and for reloading the in-memory series
+    @Query("SELECT r FROM DonationRollup r WHERE r.granularity = :granularity AND r.bucket >= :from AND r.bucket < :to")
+    List<DonationRollup> findRange(@Param("granularity") RollupGranularity granularity,
+                                   @Param("from") long from,
+                                   @Param("to") long to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DonationRollup r WHERE r.granularity = :granularity AND r.bucket >= :from AND r.bucket < :to")
+    int deleteRange(@Param("granularity") RollupGranularity granularity,
+                    @Param("from") long from,
+                    @Param("to") long to);
+
+    @Modifying
+    @Query("DELETE FROM DonationRollup r WHERE r.campaignId = :campaignId")
+    int deleteByCampaignId(@Param("campaignId") Long campaignId);
+
+    // Donations by time across all campaigns, served by the donatedAt index; compaction only ever asks for
+    // the minutes since its last run
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.campaign.id, d.donatedAt, d.amount FROM Donation d WHERE d.donatedAt >= :from AND d.donatedAt < :to")
+    Stream<Object[]> streamDonationsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Donations not compacted yet, replayed into the in-memory series on startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.campaign.id, d.donatedAt, d.amount FROM Donation d WHERE d.donatedAt >= :since")
+    Stream<Object[]> streamDonationsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT MIN(d.donatedAt) FROM Donation d")
+    LocalDateTime findFirstDonationTime();
+}
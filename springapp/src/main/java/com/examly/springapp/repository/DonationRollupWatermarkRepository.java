@@ -0,0 +1,18 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.DonationRollupWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface DonationRollupWatermarkRepository extends JpaRepository<DonationRollupWatermark, String> {
+
+    // Held for the whole compaction so two instances never compact the same minutes at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM DonationRollupWatermark w WHERE w.name = :name")
+    Optional<DonationRollupWatermark> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,204 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.ReplicaRoutingDataSource;
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache in front of {@link CampaignRepository#findById}.
+ *
+ * <p>Entries live in lock-striped access-ordered maps, so each stripe evicts its least recently used entry
+ * once full, and expire after a fixed TTL. Concurrent misses for one id share a single in-flight load.
+ * Callers always receive a {@link Campaign#copy()} so cached instances are never mutated.
+ */
+@Component
+public class CampaignCache {
+
+    private static final int STRIPES = 16;
+
+    private final CampaignRepository campaignRepository;
+    private final ShardRouter shardRouter;
+    private final long ttlNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<Campaign>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CampaignCache(CampaignRepository campaignRepository,
+                         ShardRouter shardRouter,
+                         @Value("${campaigns.cache.max-size:10000}") int maxSize,
+                         @Value("${campaigns.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.campaignRepository = campaignRepository;
+        this.shardRouter = shardRouter;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        int perStripe = Math.max(1, maxSize / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public Optional<Campaign> get(Long id) {
+        Campaign cached = stripeFor(id).getIfFresh(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.copy());
+        }
+        misses.increment();
+        return load(id).map(Campaign::copy);
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, again after commit so a reader that
+     * reloaded the pre-commit row in between cannot leave a stale value behind.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        inFlight.clear();
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", (long) size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("loads", loads.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Optional<Campaign> load(Long id) {
+        CompletableFuture<Optional<Campaign>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Campaign>> existing = inFlight.putIfAbsent(id, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            loads.increment();
+            // Always from the primary: a lagging replica would put a row older than the last invalidation back
+            Optional<Campaign> loaded = ReplicaRoutingDataSource.onPrimary(
+                    () -> shardRouter.onCampaign(id, () -> campaignRepository.findById(id))).map(Campaign::copy);
+            // Only publish if no invalidation removed our in-flight marker while the query ran
+            if (inFlight.remove(id, mine)) {
+                loaded.ifPresent(campaign -> stripeFor(id).put(id, campaign));
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            inFlight.remove(id, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Optional<Campaign> await(CompletableFuture<Optional<Campaign>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(Long id) {
+        invalidations.increment();
+        inFlight.remove(id);
+        stripeFor(id).remove(id);
+    }
+
+    private Stripe stripeFor(Long id) {
+        return stripes[Math.floorMod(id.hashCode(), STRIPES)];
+    }
+
+    private record Entry(Campaign campaign, long expiresAt) {
+    }
+
+    private final class Stripe {
+        private final LinkedHashMap<Long, Entry> entries;
+
+        private Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Campaign getIfFresh(Long id) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(id);
+                expirations.increment();
+                return null;
+            }
+            return entry.campaign();
+        }
+
+        synchronized void put(Long id, Campaign campaign) {
+            entries.put(id, new Entry(campaign, System.nanoTime() + ttlNanos));
+        }
+
+        synchronized void remove(Long id) {
+            entries.remove(id);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Closes campaigns when their deadline passes, whether or not anyone donates.
+ *
+ * <p>Deadlines of ACTIVE campaigns are held in a date-ordered map loaded on startup and kept current from
+ * {@link CampaignChangedEvent}s. Each tick pops only the campaigns that are now overdue and moves them to
+ * COMPLETED or EXPIRED with one bulk UPDATE, so the cost follows the number of expiring campaigns rather
+ * than the size of the catalog. With sharding the overdue ids are closed shard by shard.
+ */
+@Service
+public class CampaignDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignDeadlineScheduler.class);
+    static final int MAX_IDS_PER_UPDATE = 1000;
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignCache campaignCache;
+    private final CampaignFacetService campaignFacetService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+
+    // Guarded by this: deadline -> campaign ids, plus the reverse mapping for O(log n) reschedules
+    private final TreeMap<LocalDate, Set<Long>> byDeadline = new TreeMap<>();
+    private final Map<Long, LocalDate> deadlines = new HashMap<>();
+
+    public CampaignDeadlineScheduler(CampaignRepository campaignRepository,
+                                     CampaignCache campaignCache,
+                                     CampaignFacetService campaignFacetService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ShardRouter shardRouter) {
+        this.campaignRepository = campaignRepository;
+        this.campaignCache = campaignCache;
+        this.campaignFacetService = campaignFacetService;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (this) {
+            byDeadline.clear();
+            deadlines.clear();
+        }
+        shardRouter.forEachShard(true, () -> {
+            try (Stream<Object[]> active = campaignRepository.streamActiveDeadlines()) {
+                active.forEach(row -> schedule((Long) row[0], (LocalDate) row[1]));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${campaigns.deadline-scheduler.interval-ms:60000}",
+            initialDelayString = "${campaigns.deadline-scheduler.initial-delay-ms:5000}")
+    @Transactional
+    public void tick() {
+        expireDue(LocalDate.now());
+    }
+
+    /**
+     * Closes every scheduled campaign whose deadline is before {@code today}; returns how many rows changed.
+     */
+    int expireDue(LocalDate today) {
+        List<Long> due = pollDue(today);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int closed = 0;
+        try {
+            Map<Integer, List<Long>> byShard = new TreeMap<>();
+            due.forEach(id -> byShard.computeIfAbsent(shardRouter.shardFor(id), shard -> new ArrayList<>()).add(id));
+            for (Map.Entry<Integer, List<Long>> shard : byShard.entrySet()) {
+                closed += shardRouter.writeOn(shard.getKey(), () -> close(shard.getValue(), today));
+            }
+        } catch (RuntimeException e) {
+            // Put them back so the next tick retries; the UPDATE is idempotent
+            due.forEach(id -> schedule(id, today.minusDays(1)));
+            throw e;
+        }
+        for (Long id : due) {
+            campaignCache.invalidate(id);
+            eventPublisher.publishEvent(CampaignChangedEvent.updated(id));
+        }
+        log.info("Closed {} of {} campaigns past their deadline", closed, due.size());
+        return closed;
+    }
+
+    private int close(List<Long> ids, LocalDate today) {
+        int closed = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_UPDATE, ids.size()));
+            // Overdue campaigns take no donations, so the outcome counted here is the one the UPDATE applies
+            for (Object[] row : campaignRepository.countExpiring(chunk, today)) {
+                campaignFacetService.campaignsMoved((String) row[0], CampaignStatus.ACTIVE,
+                        (String) row[0], (CampaignStatus) row[1], (Long) row[2]);
+            }
+            closed += campaignRepository.closeExpired(chunk, today);
+        }
+        return closed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.deleted()) {
+            unschedule(event.campaignId());
+            return;
+        }
+        shardRouter.onCampaign(event.campaignId(), () -> campaignRepository.findSummaryById(event.campaignId()))
+                .ifPresentOrElse(campaign -> {
+            if (campaign.getStatus() == CampaignStatus.ACTIVE && campaign.getDeadline() != null) {
+                schedule(campaign.getId(), campaign.getDeadline());
+            } else {
+                unschedule(campaign.getId());
+            }
+        }, () -> unschedule(event.campaignId()));
+    }
+
+    synchronized int scheduledCount() {
+        return deadlines.size();
+    }
+
+    synchronized void schedule(Long campaignId, LocalDate deadline) {
+        LocalDate previous = deadlines.put(campaignId, deadline);
+        if (previous != null && !previous.equals(deadline)) {
+            removeFromBucket(previous, campaignId);
+        }
+        byDeadline.computeIfAbsent(deadline, d -> new HashSet<>()).add(campaignId);
+    }
+
+    synchronized void unschedule(Long campaignId) {
+        LocalDate previous = deadlines.remove(campaignId);
+        if (previous != null) {
+            removeFromBucket(previous, campaignId);
+        }
+    }
+
+    private synchronized List<Long> pollDue(LocalDate today) {
+        List<Long> due = new ArrayList<>();
+        while (!byDeadline.isEmpty() && byDeadline.firstKey().isBefore(today)) {
+            for (Long id : byDeadline.pollFirstEntry().getValue()) {
+                deadlines.remove(id);
+                due.add(id);
+            }
+        }
+        return due;
+    }
+
+    private void removeFromBucket(LocalDate deadline, Long campaignId) {
+        Set<Long> bucket = byDeadline.get(deadline);
+        if (bucket != null && bucket.remove(campaignId) && bucket.isEmpty()) {
+            byDeadline.remove(deadline);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignFacets;
+import com.examly.springapp.model.CampaignCategories;
+import com.examly.springapp.model.CampaignFacetCount;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignFacetCountRepository;
+import com.examly.springapp.repository.CampaignRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-category and per-status campaign counts for the listing filters.
+ *
+ * <p>Counts live in {@code campaign_facet_counts}, one row per (category key, status), and are adjusted in the
+ * same transaction as the campaign write. Categories are reported under the spelling their row was first
+ * written with; when sharded and the shards disagree, the lowest one. Reading facets is a scan of that small table. When a write moves
+ * a campaign between two rows they are updated in key order so concurrent moves cannot deadlock. When
+ * sharded every shard keeps counters for its own campaigns and reads add them up.
+ */
+@Service
+public class CampaignFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignFacetService.class);
+    private static final Comparator<CampaignFacetCount.Key> KEY_ORDER =
+            Comparator.comparing(CampaignFacetCount.Key::getCategoryKey).thenComparing(CampaignFacetCount.Key::getStatus);
+
+    private final CampaignFacetCountRepository facetCountRepository;
+    private final CampaignRepository campaignRepository;
+    private final ShardRouter shardRouter;
+
+    public CampaignFacetService(CampaignFacetCountRepository facetCountRepository,
+                                CampaignRepository campaignRepository,
+                                ShardRouter shardRouter) {
+        this.facetCountRepository = facetCountRepository;
+        this.campaignRepository = campaignRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    public void campaignCreated(String category, CampaignStatus status) {
+        campaignsCreated(category, status, 1);
+    }
+
+    public void campaignsCreated(String category, CampaignStatus status, long count) {
+        adjust(category, status, count);
+    }
+
+    public void campaignDeleted(String category, CampaignStatus status) {
+        adjust(category, status, -1);
+    }
+
+    public void campaignMoved(String fromCategory, CampaignStatus fromStatus, String toCategory, CampaignStatus toStatus) {
+        campaignsMoved(fromCategory, fromStatus, toCategory, toStatus, 1);
+    }
+
+    public void campaignsMoved(String fromCategory, CampaignStatus fromStatus,
+                               String toCategory, CampaignStatus toStatus, long count) {
+        CampaignFacetCount.Key from = new CampaignFacetCount.Key(CampaignCategories.key(fromCategory), fromStatus);
+        CampaignFacetCount.Key to = new CampaignFacetCount.Key(CampaignCategories.key(toCategory), toStatus);
+        if (count == 0 || from.equals(to)) {
+            return;
+        }
+        if (KEY_ORDER.compare(from, to) < 0) {
+            adjust(fromCategory, fromStatus, -count);
+            adjust(toCategory, toStatus, count);
+        } else {
+            adjust(toCategory, toStatus, count);
+            adjust(fromCategory, fromStatus, -count);
+        }
+    }
+
+    /**
+     * Category counts, optionally limited to one status, and status counts, optionally limited to one
+     * category in any spelling. Empty buckets are left out.
+     */
+    @Transactional(readOnly = true)
+    public CampaignFacets getFacets(String category, CampaignStatus status) {
+        String categoryKey = CampaignCategories.key(category);
+        Map<String, Long> countsByKey = new HashMap<>();
+        Map<String, String> spellings = new HashMap<>();
+        Map<String, Long> statuses = new TreeMap<>();
+        for (List<CampaignFacetCount> rows : shardRouter.scatter(facetCountRepository::findNonEmpty)) {
+            for (CampaignFacetCount row : rows) {
+                spellings.merge(row.getCategoryKey(), row.getCategory(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                if (status == null || row.getStatus() == status) {
+                    countsByKey.merge(row.getCategoryKey(), row.getCampaignCount(), Long::sum);
+                }
+                if (categoryKey == null || row.getCategoryKey().equals(categoryKey)) {
+                    statuses.merge(row.getStatus().name(), row.getCampaignCount(), Long::sum);
+                }
+            }
+        }
+        Map<String, Long> categories = new TreeMap<>();
+        countsByKey.forEach((key, count) -> categories.merge(spellings.get(key), count, Long::sum));
+        return new CampaignFacets(categories, statuses);
+    }
+
+    /**
+     * Recomputes every counter with one GROUP BY over campaigns. Intended for first start on existing data
+     * and for manual repair; returns the number of (category, status) rows written.
+     */
+    @Transactional
+    public int rebuild() {
+        AtomicInteger written = new AtomicInteger();
+        shardRouter.forEachShard(false, () -> written.addAndGet(rebuildShard()));
+        log.info("Rebuilt {} campaign facet counters", written.get());
+        return written.get();
+    }
+
+    // Counters are persistent, so only seed them when the table is new and campaigns already exist
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        shardRouter.forEachShard(false, () -> {
+            if (facetCountRepository.count() == 0 && campaignRepository.count() > 0) {
+                rebuildShard();
+            }
+        });
+    }
+
+    private void adjust(String category, CampaignStatus status, long delta) {
+        facetCountRepository.adjust(CampaignCategories.key(category), CampaignCategories.normalize(category),
+                status.name(), delta);
+    }
+
+    // Keys that already have counters keep the spelling they are reported under
+    private int rebuildShard() {
+        Map<String, String> spellings = new HashMap<>();
+        for (Object[] row : facetCountRepository.findSpellings()) {
+            spellings.put((String) row[0], (String) row[1]);
+        }
+        List<CampaignFacetCount> recomputed = facetCountRepository.aggregateFromCampaigns();
+        recomputed.forEach(row -> row.setCategory(spellings.getOrDefault(row.getCategoryKey(), row.getCategory())));
+        facetCountRepository.deleteAllInBatch();
+        facetCountRepository.saveAll(recomputed);
+        return recomputed.size();
+    }
+}
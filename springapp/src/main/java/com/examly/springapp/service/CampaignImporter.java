@@ -0,0 +1,363 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignImportFormat;
+import com.examly.springapp.dto.CampaignImportReport;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates campaigns in bulk from a streamed NDJSON or CSV catalog.
+ *
+ * <p>The calling thread only splits the input into records and hands them out in chunks of
+ * {@value #CHUNK_SIZE}; it waits while a few chunks per worker are pending, so memory use does not grow with
+ * the input. Worker threads parse each record, run Bean Validation and {@link CampaignService#validateCampaign},
+ * and insert a chunk's valid rows in one transaction as JDBC batches. A row that fails parsing or validation
+ * is reported by line number and does not stop the import. If a chunk's insert fails, its rows are reported
+ * and the other chunks still commit.
+ */
+@Service
+public class CampaignImporter {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final List<String> CSV_COLUMNS =
+            List.of("title", "description", "goalAmount", "category", "creatorName", "deadline");
+
+    private final CampaignService campaignService;
+    private final CampaignRepository campaignRepository;
+    private final CampaignFacetService campaignFacetService;
+    private final ShardRouter shardRouter;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    public CampaignImporter(CampaignService campaignService,
+                            CampaignRepository campaignRepository,
+                            CampaignFacetService campaignFacetService,
+                            ShardRouter shardRouter,
+                            Validator validator,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${campaigns.import.parallelism:0}") int parallelism,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.campaignService = campaignService;
+        this.campaignRepository = campaignRepository;
+        this.campaignFacetService = campaignFacetService;
+        this.shardRouter = shardRouter;
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(Campaign.class);
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Each worker holds a connection while it inserts; by default leave half the pool to requests
+        this.parallelism = parallelism > 0 ? parallelism
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), poolSize / 2));
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "campaign-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public CampaignImportReport importCampaigns(InputStream in, CampaignImportFormat format) throws IOException {
+        RecordReader records = new RecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024),
+                format == CampaignImportFormat.CSV);
+        Map<String, Integer> columns = format == CampaignImportFormat.CSV ? csvColumns(records.next()) : null;
+
+        Report report = new Report();
+        int maxPending = parallelism * 2;
+        Semaphore pending = new Semaphore(maxPending);
+        try {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Row row = records.next(); row != null; row = records.next()) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    submit(chunk, columns, report, pending);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, columns, report, pending);
+            }
+        } finally {
+            // Chunks already handed out finish even if the input broke off
+            pending.acquireUninterruptibly(maxPending);
+        }
+        return report.toReport();
+    }
+
+    private void submit(List<Row> chunk, Map<String, Integer> columns, Report report, Semaphore pending) {
+        pending.acquireUninterruptibly();
+        try {
+            workers.execute(() -> {
+                try {
+                    importChunk(chunk, columns, report);
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    private void importChunk(List<Row> chunk, Map<String, Integer> columns, Report report) {
+        List<Campaign> valid = new ArrayList<>(chunk.size());
+        Map<Campaign, Long> lines = new IdentityHashMap<>();
+        for (Row row : chunk) {
+            String problem;
+            try {
+                Campaign campaign = columns == null ? rowReader.readValue(row.text()) : fromCsv(row.text(), columns);
+                if (campaign == null) {
+                    throw new ValidationException("Expected a campaign object");
+                }
+                problem = invalid(campaign);
+                if (problem == null) {
+                    campaign.setId(null);
+                    campaign.setStatus(CampaignStatus.ACTIVE);
+                    campaign.setCurrentAmount(BigDecimal.ZERO);
+                    valid.add(campaign);
+                    lines.put(campaign, row.line());
+                    continue;
+                }
+            } catch (JsonProcessingException e) {
+                problem = "Malformed JSON: " + e.getOriginalMessage();
+            } catch (ValidationException e) {
+                problem = e.getMessage();
+            }
+            report.failed(row.line(), problem);
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        AtomicLong notInserted = new AtomicLong();
+        shardRouter.onNewCampaigns(valid, this::insert, (campaigns, e) -> {
+            String reason = "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            campaigns.forEach(campaign -> report.failed(lines.get(campaign), reason));
+            notInserted.addAndGet(campaigns.size());
+        });
+        report.imported(valid.size() - notInserted.get());
+    }
+
+    private void insert(List<Campaign> campaigns) {
+        transactionTemplate.executeWithoutResult(status -> {
+            campaignRepository.saveAll(campaigns);
+            // Sorted so concurrent chunks lock the counter rows in the same order
+            Map<String, Long> byCategory = new TreeMap<>();
+            campaigns.forEach(campaign -> byCategory.merge(campaign.getCategory(), 1L, Long::sum));
+            byCategory.forEach((category, count) ->
+                    campaignFacetService.campaignsCreated(category, CampaignStatus.ACTIVE, count));
+            campaigns.forEach(campaign -> eventPublisher.publishEvent(CampaignChangedEvent.updated(campaign.getId())));
+        });
+    }
+
+    // Same checks as a single create: the entity's constraints, then the service rules
+    private String invalid(Campaign campaign) {
+        List<String> violations = validator.validate(campaign).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            return String.join("; ", violations);
+        }
+        try {
+            campaignService.validateCampaign(campaign);
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Map<String, Integer> csvColumns(Row header) {
+        if (header == null) {
+            throw new ValidationException("CSV input needs a header row");
+        }
+        List<String> names = csvFields(header.text().replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new ValidationException("Unknown CSV column: " + name);
+            }
+            columns.put(name, i);
+        }
+        for (String required : CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new ValidationException("Missing CSV column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    static Campaign fromCsv(String record, Map<String, Integer> columns) {
+        List<String> fields = csvFields(record);
+        if (fields.size() != columns.size()) {
+            throw new ValidationException("Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        Campaign campaign = new Campaign();
+        campaign.setTitle(field(fields, columns, "title"));
+        campaign.setDescription(field(fields, columns, "description"));
+        campaign.setCategory(field(fields, columns, "category"));
+        campaign.setCreatorName(field(fields, columns, "creatorName"));
+        String goal = field(fields, columns, "goalAmount");
+        String deadline = field(fields, columns, "deadline");
+        try {
+            campaign.setGoalAmount(goal == null ? null : new BigDecimal(goal.trim()));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid goalAmount: " + goal);
+        }
+        try {
+            campaign.setDeadline(deadline == null ? null : LocalDate.parse(deadline.trim()));
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid deadline: " + deadline);
+        }
+        return campaign;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = fields.get(columns.get(name));
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180: fields may be quoted, with embedded separators, line breaks and doubled quotes
+    static List<String> csvFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, String text) {
+    }
+
+    // Splits the input into records, skipping blank lines; a CSV record continues while a quote is open
+    private static final class RecordReader {
+        private final BufferedReader reader;
+        private final boolean csv;
+        private long lineNumber;
+
+        private RecordReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        private Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                long first = lineNumber;
+                if (!csv || quotes(line) % 2 == 0) {
+                    return new Row(first, line);
+                }
+                StringBuilder record = new StringBuilder(line);
+                long open = quotes(line);
+                while (open % 2 != 0 && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(line);
+                    open += quotes(line);
+                }
+                return new Row(first, record.toString());
+            }
+            return null;
+        }
+
+        private static long quotes(String line) {
+            return line.chars().filter(c -> c == '"').count();
+        }
+    }
+
+    // Filled concurrently by the workers; keeps only the lowest line numbers once the error list is full
+    private static final class Report {
+        private long imported;
+        private long failed;
+        private final TreeMap<Long, String> errors = new TreeMap<>();
+
+        synchronized void imported(long rows) {
+            imported += rows;
+        }
+
+        synchronized void failed(long line, String message) {
+            failed++;
+            errors.put(line, message);
+            if (errors.size() > MAX_REPORTED_ERRORS) {
+                errors.pollLastEntry();
+            }
+        }
+
+        synchronized CampaignImportReport toReport() {
+            return new CampaignImportReport(imported, failed, errors.entrySet().stream()
+                    .map(e -> new CampaignImportReport.RowError(e.getKey(), e.getValue()))
+                    .toList());
+        }
+    }
+}
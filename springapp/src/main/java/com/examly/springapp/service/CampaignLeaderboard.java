@@ -0,0 +1,143 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignSummary;
+import com.examly.springapp.dto.LeaderboardType;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.event.DonationsAppliedEvent;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * In-memory ranked indexes over ACTIVE campaigns for the home page rails.
+ *
+ * <p>Each ranking is a skip list ordered by its key and then id; a per-campaign snapshot map records the
+ * entry currently indexed so an update is remove-old/insert-new in O(log n). The campaign's row is the only
+ * source: donations and other changes alike reload it after commit, and since reloads can finish out of order,
+ * a snapshot with an older row version than the indexed one is ignored. Campaigns leaving ACTIVE are dropped.
+ */
+@Service
+public class CampaignLeaderboard {
+
+    static final int MAX_LIMIT = 100;
+    static final int MAX_OFFSET = 1000;
+
+    private final CampaignRepository campaignRepository;
+    private final ShardRouter shardRouter;
+    private final Map<LeaderboardType, ConcurrentSkipListSet<CampaignSummary>> boards =
+            new EnumMap<>(LeaderboardType.class);
+    private final ConcurrentHashMap<Long, CampaignSummary> indexed = new ConcurrentHashMap<>();
+
+    public CampaignLeaderboard(CampaignRepository campaignRepository, ShardRouter shardRouter) {
+        this.campaignRepository = campaignRepository;
+        this.shardRouter = shardRouter;
+        for (LeaderboardType type : LeaderboardType.values()) {
+            boards.put(type, new ConcurrentSkipListSet<>(type.order()));
+        }
+    }
+
+    public List<CampaignSummary> top(LeaderboardType type, int offset, int limit) {
+        int skip = Math.min(Math.max(offset, 0), MAX_OFFSET);
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<CampaignSummary> page = new ArrayList<>(size);
+        Iterator<CampaignSummary> it = boards.get(type).iterator();
+        for (int i = 0; i < skip && it.hasNext(); i++) {
+            it.next();
+        }
+        while (page.size() < size && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+
+    public int size() {
+        return indexed.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        indexed.clear();
+        boards.values().forEach(ConcurrentSkipListSet::clear);
+        shardRouter.forEachShard(true, () -> {
+            try (Stream<CampaignSummary> active = campaignRepository.streamSummariesByStatus(CampaignStatus.ACTIVE)) {
+                active.forEach(this::upsert);
+            }
+        });
+    }
+
+    // A delta added to the indexed copy would count the donation twice if a reload already saw it, so the
+    // committed row is re-read instead
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDonationsApplied(DonationsAppliedEvent event) {
+        if (indexed.containsKey(event.campaignId())) {
+            reload(event.campaignId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.campaignId());
+            return;
+        }
+        reload(event.campaignId());
+    }
+
+    private void reload(Long campaignId) {
+        shardRouter.onCampaign(campaignId, () -> campaignRepository.findSummaryById(campaignId))
+                .ifPresentOrElse(this::upsert, () -> remove(campaignId));
+    }
+
+    void upsert(CampaignSummary campaign) {
+        boolean rankable = isRankable(campaign);
+        // compute() holds the map bin for this id, so the remove/insert across all boards is atomic per campaign
+        indexed.compute(campaign.getId(), (id, current) -> {
+            if (current != null && current.getVersion() > campaign.getVersion()) {
+                return current;
+            }
+            CampaignSummary next = rankable ? campaign : null;
+            reindex(current, next);
+            return next;
+        });
+    }
+
+    void remove(Long campaignId) {
+        indexed.computeIfPresent(campaignId, (id, current) -> {
+            reindex(current, null);
+            return null;
+        });
+    }
+
+    private void reindex(CampaignSummary previous, CampaignSummary next) {
+        for (ConcurrentSkipListSet<CampaignSummary> board : boards.values()) {
+            if (previous != null) {
+                board.remove(previous);
+            }
+            if (next != null) {
+                board.add(next);
+            }
+        }
+    }
+
+    private static boolean isRankable(CampaignSummary campaign) {
+        return campaign.getStatus() == CampaignStatus.ACTIVE
+                && campaign.getDeadline() != null && !campaign.getDeadline().isBefore(LocalDate.now())
+                && campaign.getGoalAmount() != null && campaign.getGoalAmount().signum() > 0
+                && campaign.getCurrentAmount() != null;
+    }
+}
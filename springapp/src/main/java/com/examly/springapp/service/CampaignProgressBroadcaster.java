@@ -0,0 +1,218 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignProgress;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.event.DonationsAppliedEvent;
+import com.examly.springapp.model.Campaign;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes funding progress to Server-Sent Events subscribers.
+ *
+ * <p>Committed donations and campaign changes only mark a campaign dirty. A flusher running at most
+ * {@code max-updates-per-second} times a second reads each dirty campaign once, serialises one payload and
+ * hands the same string to every subscriber. Each subscriber holds a single pending slot that newer payloads
+ * overwrite, so a slow client skips intermediate values instead of buffering them, and a client whose write
+ * fails is dropped.
+ */
+@Service
+public class CampaignProgressBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignProgressBroadcaster.class);
+    static final String PROGRESS_EVENT = "progress";
+    static final String DELETED_EVENT = "deleted";
+
+    private final CampaignCache campaignCache;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final ExecutorService senders;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> channels = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public CampaignProgressBroadcaster(CampaignCache campaignCache,
+                                       ObjectMapper objectMapper,
+                                       @Value("${campaigns.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                       @Value("${campaigns.progress.sender-threads:8}") int senderThreads) {
+        this.campaignCache = campaignCache;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        AtomicInteger n = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "progress-sse-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens a stream for the campaign; the first event carries its current progress and arrives with the next
+     * flush. Empty if the campaign does not exist.
+     */
+    public Optional<SseEmitter> subscribe(Long campaignId) {
+        if (campaignCache.get(campaignId).isEmpty()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(campaignId, emitter);
+        channels.computeIfAbsent(campaignId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        // Priming through the flusher keeps a joining crowd to one read per tick, and ordered after any update
+        dirty.add(campaignId);
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount(Long campaignId) {
+        Set<Subscriber> subscribers = channels.get(campaignId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDonationsApplied(DonationsAppliedEvent event) {
+        markDirty(event.campaignId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        markDirty(event.campaignId());
+    }
+
+    @Scheduled(fixedRateString = "#{1000 / ${campaigns.progress.max-updates-per-second:4}}")
+    public void flush() {
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long campaignId = it.next();
+            it.remove();
+            Set<Subscriber> subscribers = channels.get(campaignId);
+            if (subscribers == null || subscribers.isEmpty()) {
+                continue;
+            }
+            Optional<Campaign> campaign = campaignCache.get(campaignId);
+            if (campaign.isEmpty()) {
+                channels.remove(campaignId);
+                subscribers.forEach(s -> s.close(SseEmitter.event().name(DELETED_EVENT).data(campaignId)));
+                continue;
+            }
+            // Serialised once; every subscriber writes the same string
+            String payload = serialise(CampaignProgress.of(campaign.get()));
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().name(PROGRESS_EVENT).data(payload, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    // Comment lines keep proxies from idling the connection out and surface dead clients as write failures
+    @Scheduled(fixedRateString = "${campaigns.progress.heartbeat-ms:15000}")
+    public void heartbeat() {
+        channels.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(SseEmitter.event().comment(""))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        channels.clear();
+        senders.shutdownNow();
+    }
+
+    private void markDirty(Long campaignId) {
+        if (channels.containsKey(campaignId)) {
+            dirty.add(campaignId);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.campaignId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private String serialise(CampaignProgress progress) {
+        try {
+            return objectMapper.writeValueAsString(progress);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise campaign progress", e);
+        }
+    }
+
+    private final class Subscriber {
+        private final Long campaignId;
+        private final SseEmitter emitter;
+        // Latest undelivered event; overwritten rather than queued so memory per client stays constant
+        private final AtomicReference<SseEmitter.SseEventBuilder> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closing;
+
+        private Subscriber(Long campaignId, SseEmitter emitter) {
+            this.campaignId = campaignId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closing) {
+                return;
+            }
+            pending.set(event);
+            schedule();
+        }
+
+        void close(SseEmitter.SseEventBuilder lastEvent) {
+            pending.set(lastEvent);
+            closing = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = pending.getAndSet(null);
+                if (event == null) {
+                    sending.set(false);
+                    // An offer may have landed between the empty read and releasing the flag
+                    if (pending.get() != null && sending.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    if (closing) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping progress subscriber for campaign {}: {}", campaignId, e.getMessage());
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignSearchDocument;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.repository.CampaignRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over campaign title, description, category and creator name.
+ *
+ * <p>Text is lower-cased, stripped of accents and split on anything that is not a letter or digit. Each term
+ * maps to the campaigns containing it with a field-weighted term frequency; terms are kept sorted so the last
+ * query word can be expanded as a prefix for typeahead. Every query word must match, and matches are ranked
+ * by the sum of idf times saturated term frequency, exact words ahead of prefix expansions, ties by id.
+ *
+ * <p>The index is rebuilt on startup and then maintained from {@link CampaignChangedEvent}s after commit.
+ */
+@Service
+public class CampaignSearchIndex {
+
+    static final int MAX_RESULTS = 100;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    static final int MAX_TERM_LENGTH = 40;
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float CREATOR_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double PREFIX_PENALTY = 0.8;
+    private static final double K1 = 1.2;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "that", "the", "this", "to", "was", "with");
+
+    private final CampaignRepository campaignRepository;
+    private final ShardRouter shardRouter;
+
+    // Guarded by lock: term -> (campaign id -> weighted term frequency), plus each campaign's terms for removal
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+
+    public CampaignSearchIndex(CampaignRepository campaignRepository, ShardRouter shardRouter) {
+        this.campaignRepository = campaignRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Returns the ids of the best matching campaigns, most relevant first. The last word of {@code query}
+     * is matched as a prefix unless the query ends with whitespace.
+     */
+    public List<Long> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        List<String> words = tokenize(query);
+        if (lastIsPrefix) {
+            // A half-typed word such as "an" on its way to "animal" must not be dropped as a stop word
+            String[] raw = NON_WORD.split(fold(query));
+            String last = raw.length == 0 ? "" : raw[raw.length - 1];
+            if (STOP_WORDS.contains(last)) {
+                words.add(last);
+            }
+        }
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_RESULTS);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                Map<Long, Double> wordScores = score(words.get(i), lastIsPrefix && i == words.size() - 1);
+                scores = scores == null ? wordScores : intersect(scores, wordScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topK(scores, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            shardRouter.forEachShard(true, () -> {
+                try (Stream<CampaignSearchDocument> all = campaignRepository.streamSearchDocuments()) {
+                    all.forEach(this::indexLocked);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.campaignId());
+            return;
+        }
+        shardRouter.onCampaign(event.campaignId(), () -> campaignRepository.findSearchDocumentById(event.campaignId()))
+                .ifPresentOrElse(this::index, () -> remove(event.campaignId()));
+    }
+
+    void index(CampaignSearchDocument document) {
+        // Tokenise outside the lock; only the posting updates need exclusive access
+        Map<String, Float> terms = termFrequencies(document);
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.getId());
+            addLocked(document.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long campaignId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(campaignId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private void indexLocked(CampaignSearchDocument document) {
+        removeLocked(document.getId());
+        addLocked(document.getId(), termFrequencies(document));
+    }
+
+    private void addLocked(Long id, Map<String, Float> terms) {
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(id, term.getValue());
+        }
+        documents.put(id, terms.keySet());
+    }
+
+    private void removeLocked(Long id) {
+        Set<String> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Float> termFrequencies(CampaignSearchDocument document) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, document.getTitle(), TITLE_WEIGHT);
+        addField(terms, document.getCategory(), CATEGORY_WEIGHT);
+        addField(terms, document.getCreatorName(), CREATOR_WEIGHT);
+        addField(terms, document.getDescription(), DESCRIPTION_WEIGHT);
+        return terms;
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    // Best score per campaign for one query word, over its exact term or every term it prefixes
+    private Map<Long, Double> score(String word, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        if (!prefix) {
+            addScores(scores, postings.get(word), 1.0);
+            return scores;
+        }
+        SortedMap<String, Map<Long, Float>> expansions = postings.subMap(word, word + Character.MAX_VALUE);
+        int expanded = 0;
+        for (Map.Entry<String, Map<Long, Float>> term : expansions.entrySet()) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            addScores(scores, term.getValue(), term.getKey().equals(word) ? 1.0 : PREFIX_PENALTY);
+        }
+        return scores;
+    }
+
+    private void addScores(Map<Long, Double> scores, Map<Long, Float> docs, double factor) {
+        if (docs == null) {
+            return;
+        }
+        double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+        for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+            double tf = doc.getValue();
+            double score = factor * idf * (tf * (K1 + 1)) / (tf + K1);
+            scores.merge(doc.getKey(), score, Math::max);
+        }
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> a, Map<Long, Double> b) {
+        Map<Long, Double> small = a.size() <= b.size() ? a : b;
+        Map<Long, Double> large = small == a ? b : a;
+        Map<Long, Double> both = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : small.entrySet()) {
+            Double other = large.get(entry.getKey());
+            if (other != null) {
+                both.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return both;
+    }
+
+    private static List<Long> topK(Map<Long, Double> scores, int k) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // Min-heap of the best k so far: its head is the weakest kept match
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(k + 1, ranking.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Long> ids = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> ids.add(entry.getKey()));
+        return ids;
+    }
+}
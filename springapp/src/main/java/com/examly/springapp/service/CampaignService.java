@@ -1,42 +1,147 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.CampaignCursor;
+import com.examly.springapp.dto.CampaignFilter;
+import com.examly.springapp.dto.CampaignPage;
+import com.examly.springapp.dto.CampaignSort;
+import com.examly.springapp.dto.CampaignSummary;
+import com.examly.springapp.event.CampaignChangedEvent;
 import com.examly.springapp.model.Campaign;
 import com.examly.springapp.model.CampaignStatus;
 import com.examly.springapp.repository.CampaignRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 @Service
 public class CampaignService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CampaignRepository campaignRepository;
 
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private CampaignStatsService campaignStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CampaignSearchIndex campaignSearchIndex;
+
+    @Autowired
+    private CampaignFacetService campaignFacetService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Transactional
     public Campaign createCampaign(Campaign campaign) {
         validateCampaign(campaign);
         campaign.setStatus(CampaignStatus.ACTIVE);
         campaign.setCurrentAmount(BigDecimal.ZERO);
-        return campaignRepository.save(campaign);
+        Campaign saved = campaignRepository.save(campaign);
+        campaignFacetService.campaignCreated(saved.getCategory(), CampaignStatus.ACTIVE);
+        eventPublisher.publishEvent(CampaignChangedEvent.updated(saved.getId()));
+        return saved;
     }
 
     public Campaign getCampaignById(Long id) {
-        return campaignRepository.findById(id)
+        return campaignCache.get(id)
                 .orElseThrow(() -> new EntityNotFoundException("Campaign not found with id: " + id));
     }
 
     public List<Campaign> getAllCampaigns() {
-        return campaignRepository.findAll();
+        List<Campaign> campaigns = new ArrayList<>();
+        shardRouter.scatter(campaignRepository::findAll).forEach(campaigns::addAll);
+        if (shardRouter.isSharded()) {
+            campaigns.sort(Comparator.comparing(Campaign::getId));
+        }
+        return campaigns;
     }
 
+    /**
+     * Keyset-paginated listing: each page seeks past the last (sort key, id) seen instead of using OFFSET,
+     * so deep pages cost the same as the first. Fetches one extra row to know whether a next page exists.
+     * When sharded, every shard answers the same keyset query and the pages are merged in sort order.
+     */
+    public CampaignPage listCampaigns(CampaignFilter filter, CampaignSort sort, String cursorToken, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String category = filter.getCategory();
+        CampaignStatus status = filter.getStatus();
+        LocalDate from = filter.getDeadlineFrom();
+        LocalDate to = filter.getDeadlineTo();
+        CampaignCursor cursor = cursorToken == null || cursorToken.isEmpty() ? null : CampaignCursor.decode(cursorToken, sort);
+        Long afterId = cursor == null ? null : cursor.id();
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+
+        List<List<CampaignSummary>> pages = shardRouter.scatter(() -> switch (sort) {
+            case ID -> campaignRepository.findSummariesById(category, status, from, to, afterId, page);
+            case DEADLINE -> campaignRepository.findSummariesByDeadline(category, status, from, to,
+                    cursor == null ? null : cursor.deadline(), afterId, page);
+            case CREATED_AT -> campaignRepository.findSummariesByCreatedAt(category, status, from, to,
+                    cursor == null ? null : cursor.createdAt(), afterId, page);
+        });
+        List<CampaignSummary> rows = pages.size() == 1 ? pages.get(0) : merge(pages, sort.order(), pageSize + 1);
+
+        if (rows.size() <= pageSize) {
+            return new CampaignPage(rows, null);
+        }
+        List<CampaignSummary> items = rows.subList(0, pageSize);
+        return new CampaignPage(items, CampaignCursor.after(sort, items.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Ranks matches in the in-memory search index, then loads just those summaries by primary key so amounts
+     * and statuses are current. Rows deleted since ranking are skipped.
+     */
+    public List<CampaignSummary> searchCampaigns(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query must not be empty");
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Long> ranked = campaignSearchIndex.search(query, size);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CampaignSummary> byId = new HashMap<>();
+        shardRouter.scatter(() -> campaignRepository.findSummariesByIdIn(ranked))
+                .forEach(rows -> rows.forEach(summary -> byId.put(summary.getId(), summary)));
+        List<CampaignSummary> results = new ArrayList<>(ranked.size());
+        for (Long id : ranked) {
+            CampaignSummary summary = byId.get(id);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+
+    @Transactional
     public Campaign updateCampaign(Long id, Campaign updatedCampaign) {
-        Campaign existing = getCampaignById(id);
+        Campaign existing = findForWrite(id);
         validateCampaign(updatedCampaign);
+        String previousCategory = existing.getCategory();
 
         existing.setTitle(updatedCampaign.getTitle());
         existing.setDescription(updatedCampaign.getDescription());
@@ -45,17 +150,27 @@ public class CampaignService {
         existing.setCategory(updatedCampaign.getCategory());
         existing.setCreatorName(updatedCampaign.getCreatorName());
 
-        return campaignRepository.save(existing);
+        Campaign saved = campaignRepository.save(existing);
+        campaignFacetService.campaignMoved(previousCategory, existing.getStatus(), existing.getCategory(), existing.getStatus());
+        campaignCache.invalidate(id);
+        eventPublisher.publishEvent(CampaignChangedEvent.updated(id));
+        return saved;
     }
 
+    @Transactional
     public void deleteCampaign(Long id) {
-        Campaign campaign = getCampaignById(id);
+        Campaign campaign = findForWrite(id);
         campaignRepository.delete(campaign);
+        campaignFacetService.campaignDeleted(campaign.getCategory(), campaign.getStatus());
+        campaignStatsService.remove(id);
+        campaignCache.invalidate(id);
+        eventPublisher.publishEvent(CampaignChangedEvent.deleted(id));
     }
 
     public void updateCampaignStatusIfNeeded(Campaign campaign) {
         boolean deadlinePassed = campaign.getDeadline().isBefore(LocalDate.now());
         boolean goalReached = campaign.getCurrentAmount().compareTo(campaign.getGoalAmount()) >= 0;
+        CampaignStatus previousStatus = campaign.getStatus();
 
         if (goalReached) {
             campaign.setStatus(CampaignStatus.COMPLETED);
@@ -64,9 +179,71 @@ public class CampaignService {
         }
 
         campaignRepository.save(campaign);
+        if (previousStatus != null) {
+            campaignFacetService.campaignMoved(campaign.getCategory(), previousStatus, campaign.getCategory(), campaign.getStatus());
+        }
+        if (campaign.getId() != null) {
+            campaignCache.invalidate(campaign.getId());
+            eventPublisher.publishEvent(CampaignChangedEvent.updated(campaign.getId()));
+        }
+    }
+
+    public void updateCampaignStatusBasedOnFunding(Campaign campaign) {
+        // Conditional UPDATE so a stale in-memory currentAmount is never written back over concurrent donations
+        if (campaignRepository.markCompletedIfFunded(campaign.getId()) > 0) {
+            campaign.setStatus(CampaignStatus.COMPLETED);
+            campaignFacetService.campaignMoved(campaign.getCategory(), CampaignStatus.ACTIVE,
+                    campaign.getCategory(), CampaignStatus.COMPLETED);
+            campaignCache.invalidate(campaign.getId());
+            eventPublisher.publishEvent(CampaignChangedEvent.updated(campaign.getId()));
+        }
+    }
+
+    // K-way merge of already sorted shard pages, keeping the first limit rows
+    private static List<CampaignSummary> merge(List<List<CampaignSummary>> pages, Comparator<CampaignSummary> order,
+                                               int limit) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>((a, b) -> order.compare(a.head, b.head));
+        for (List<CampaignSummary> rows : pages) {
+            if (!rows.isEmpty()) {
+                heads.add(new PeekingIterator(rows.iterator()));
+            }
+        }
+        List<CampaignSummary> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            PeekingIterator next = heads.poll();
+            merged.add(next.head);
+            if (next.advance()) {
+                heads.add(next);
+            }
+        }
+        return merged;
+    }
+
+    private static final class PeekingIterator {
+        private final Iterator<CampaignSummary> rest;
+        private CampaignSummary head;
+
+        private PeekingIterator(Iterator<CampaignSummary> rows) {
+            this.rest = rows;
+            this.head = rows.next();
+        }
+
+        private boolean advance() {
+            if (!rest.hasNext()) {
+                return false;
+            }
+            head = rest.next();
+            return true;
+        }
+    }
+
+    // Writes bypass the cache so they always start from the current row
+    private Campaign findForWrite(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Campaign not found with id: " + id));
     }
 
-    private void validateCampaign(Campaign campaign) {
+    public void validateCampaign(Campaign campaign) {
         if (campaign.getTitle() == null || campaign.getTitle().length() < 3) {
             throw new ValidationException("Title must be at least 3 characters long");
         }
@@ -0,0 +1,154 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignStatsResponse;
+import com.examly.springapp.model.CampaignStats;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps per-campaign donation statistics up to date on the write path so reading them is a primary-key
+ * lookup plus a fixed-size window scan, never a pass over the donations table.
+ *
+ * <p>Totals live in the {@code campaign_stats} table and are updated in the donation's transaction. Last
+ * hour/day counts live in memory and are applied after commit; they are replayed from {@code donatedAt}
+ * on startup and by {@link #rebuild()}.
+ */
+@Service
+public class CampaignStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignStatsService.class);
+
+    private final CampaignStatsRepository campaignStatsRepository;
+    private final ShardRouter shardRouter;
+    private final DonationRollupService donationRollupService;
+    private final ConcurrentHashMap<Long, DonationWindow> windows = new ConcurrentHashMap<>();
+
+    public CampaignStatsService(CampaignStatsRepository campaignStatsRepository, ShardRouter shardRouter,
+                                DonationRollupService donationRollupService) {
+        this.campaignStatsRepository = campaignStatsRepository;
+        this.shardRouter = shardRouter;
+        this.donationRollupService = donationRollupService;
+    }
+
+    /**
+     * Must run inside the donation transaction after the campaign's funding increment, which holds the
+     * campaign row lock; that serialises first-donation row creation for a campaign.
+     */
+    public void recordDonations(Long campaignId, List<Donation> donations) {
+        if (donations.isEmpty()) {
+            return;
+        }
+        long count = donations.size();
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal max = BigDecimal.ZERO;
+        for (Donation donation : donations) {
+            total = total.add(donation.getAmount());
+            max = max.max(donation.getAmount());
+        }
+
+        if (campaignStatsRepository.addDonations(campaignId, count, total, max) == 0) {
+            campaignStatsRepository.save(new CampaignStats(campaignId, count, total, max));
+        }
+        afterCommit(() -> {
+            window(campaignId).record(currentMinute(), count);
+            donationRollupService.record(campaignId, donations);
+        });
+    }
+
+    public CampaignStatsResponse getStats(Long campaignId) {
+        CampaignStats stats = campaignStatsRepository.findById(campaignId)
+                .orElseGet(() -> new CampaignStats(campaignId, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+        BigDecimal average = stats.getDonationCount() == 0 ? BigDecimal.ZERO :
+                stats.getTotalAmount().divide(BigDecimal.valueOf(stats.getDonationCount()), 2, RoundingMode.HALF_UP);
+        DonationWindow window = windows.get(campaignId);
+        long now = currentMinute();
+        return new CampaignStatsResponse(campaignId,
+                stats.getDonationCount(),
+                stats.getTotalAmount(),
+                average,
+                stats.getMaxAmount(),
+                window == null ? 0 : window.lastHour(now),
+                window == null ? 0 : window.lastDay(now));
+    }
+
+    public void remove(Long campaignId) {
+        if (campaignStatsRepository.existsById(campaignId)) {
+            campaignStatsRepository.deleteById(campaignId);
+        }
+        donationRollupService.remove(campaignId);
+        afterCommit(() -> windows.remove(campaignId));
+    }
+
+    /**
+     * Recomputes every aggregate and rollup row from the donations table and replays the last day into the windows.
+     * Intended for recovery after a crash or manual repair; returns the number of campaigns rebuilt.
+     */
+    @Transactional
+    public int rebuild() {
+        AtomicInteger rebuilt = new AtomicInteger();
+        shardRouter.forEachShard(false, () -> {
+            List<CampaignStats> recomputed = campaignStatsRepository.aggregateFromDonations();
+            campaignStatsRepository.deleteAllInBatch();
+            campaignStatsRepository.saveAll(recomputed);
+            rebuilt.addAndGet(recomputed.size());
+        });
+        donationRollupService.rebuild();
+        reloadWindows();
+        log.info("Rebuilt donation statistics for {} campaigns", rebuilt.get());
+        return rebuilt.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reloadWindows() {
+        windows.clear();
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        shardRouter.forEachShard(true, () -> {
+            try (Stream<Object[]> rows = campaignStatsRepository.streamDonationTimesSince(since)) {
+                rows.forEach(row -> {
+                    long minute = TimeUnit.SECONDS.toMinutes(((LocalDateTime) row[1]).toEpochSecond(ZoneOffset.UTC));
+                    window((Long) row[0]).record(minute, 1);
+                });
+            }
+        });
+    }
+
+    private DonationWindow window(Long campaignId) {
+        return windows.computeIfAbsent(campaignId, id -> new DonationWindow());
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.SECONDS.toMinutes(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
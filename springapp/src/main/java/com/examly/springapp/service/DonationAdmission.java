@@ -0,0 +1,236 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AdmissionLimits;
+import com.examly.springapp.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket admission for donations, one bucket per campaign and one per client, so a viral campaign
+ * or a runaway client spends its own budget instead of the database's.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time its budget is fully restored (GCRA), advanced
+ * by compare-and-set, so admission takes no locks. A request over budget reserves the next slot and sleeps
+ * until it, provided that is within {@code maxWaitMs} and fewer than {@code maxWaiting} requests are already
+ * asleep; otherwise nothing is reserved and it is rejected with the time until a slot frees up. The waiting
+ * cap keeps a storm on one campaign from occupying the request threads other campaigns are served on.
+ * A batch takes one slot per donation at once, so batching does not stretch either budget.
+ *
+ * <p>Limits can be replaced at runtime and apply from the next request.
+ */
+@Component
+public class DonationAdmission {
+
+    /** Request attribute holding the client key the admission interceptor resolved, for handlers that admit later. */
+    public static final String CLIENT_ATTRIBUTE = "com.examly.springapp.service.DonationAdmission.client";
+
+    private final ConcurrentHashMap<Long, AtomicLong> campaigns = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongSupplier nanoClock;
+    private volatile AdmissionLimits limits;
+
+    private final Counter rejectedCampaign;
+    private final Counter rejectedClient;
+    private final Counter rejectedQueue;
+    private final Counter delayed;
+
+    @Autowired
+    public DonationAdmission(MeterRegistry registry,
+                             @Value("${donations.admission.enabled:false}") boolean enabled,
+                             @Value("${donations.admission.campaign-rate:200}") double campaignRate,
+                             @Value("${donations.admission.campaign-burst:400}") int campaignBurst,
+                             @Value("${donations.admission.client-rate:5}") double clientRate,
+                             @Value("${donations.admission.client-burst:20}") int clientBurst,
+                             @Value("${donations.admission.max-wait-ms:250}") long maxWaitMs,
+                             @Value("${donations.admission.max-waiting:50}") int maxWaiting) {
+        this(new AdmissionLimits(enabled, campaignRate, campaignBurst, clientRate, clientBurst, maxWaitMs, maxWaiting),
+                registry, System::nanoTime);
+    }
+
+    DonationAdmission(AdmissionLimits limits, MeterRegistry registry, LongSupplier nanoClock) {
+        this.limits = limits;
+        this.nanoClock = nanoClock;
+        this.rejectedCampaign = rejected(registry, "campaign");
+        this.rejectedClient = rejected(registry, "client");
+        this.rejectedQueue = rejected(registry, "queue");
+        this.delayed = Counter.builder("donations.admission.delayed")
+                .description("Donations admitted after waiting for budget")
+                .register(registry);
+        Gauge.builder("donations.admission.waiting", waiting, AtomicInteger::get)
+                .description("Donations currently waiting for budget")
+                .register(registry);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String limit) {
+        return Counter.builder("donations.admission.rejected")
+                .description("Donations rejected with 429 by admission control")
+                .tag("limit", limit)
+                .register(registry);
+    }
+
+    /**
+     * Returns once the donation may proceed, after waiting if need be.
+     *
+     * @param client the caller's key, or null to apply only the campaign's budget
+     * @throws AdmissionRejectedException if the donation is over budget beyond the allowed wait
+     */
+    public void admit(Long campaignId, String client) {
+        admit(campaignId, client, 1);
+    }
+
+    /**
+     * Admits {@code permits} donations together, as for a batch: they take that many slots of each budget, or
+     * none when rejected.
+     *
+     * @throws ValidationException if the batch is larger than a burst, so it could never be admitted whole
+     */
+    public void admit(Long campaignId, String client, int permits) {
+        AdmissionLimits current = limits;
+        if (!current.enabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long maxWait = TimeUnit.MILLISECONDS.toNanos(current.maxWaitMs());
+        long clientInterval = client != null ? interval(current.clientRate()) : 0;
+        long campaignInterval = interval(current.campaignRate());
+        if (clientInterval > 0) {
+            checkBurst(permits, current.clientBurst(), "client");
+        }
+        if (campaignInterval > 0) {
+            checkBurst(permits, current.campaignBurst(), "campaign");
+        }
+
+        AtomicLong clientBucket = null;
+        long clientCost = 0;
+        long clientWait = 0;
+        if (clientInterval > 0) {
+            clientBucket = clients.computeIfAbsent(client, key -> new AtomicLong(Long.MIN_VALUE));
+            clientCost = clientInterval * permits;
+            clientWait = reserve(clientBucket, clientCost, current.clientBurst() * clientInterval, maxWait, now);
+            if (clientWait < 0) {
+                rejectedClient.increment();
+                throw new AdmissionRejectedException("Too many donations from this client", Duration.ofNanos(-clientWait));
+            }
+        }
+
+        AtomicLong campaignBucket = null;
+        long campaignCost = 0;
+        long campaignWait = 0;
+        if (campaignInterval > 0) {
+            campaignBucket = campaigns.computeIfAbsent(campaignId, key -> new AtomicLong(Long.MIN_VALUE));
+            campaignCost = campaignInterval * permits;
+            campaignWait = reserve(campaignBucket, campaignCost, current.campaignBurst() * campaignInterval, maxWait, now);
+            if (campaignWait < 0) {
+                release(clientBucket, clientCost);
+                rejectedCampaign.increment();
+                throw new AdmissionRejectedException("Too many donations to this campaign", Duration.ofNanos(-campaignWait));
+            }
+        }
+
+        long wait = Math.max(clientWait, campaignWait);
+        if (wait == 0) {
+            return;
+        }
+        try {
+            if (waiting.incrementAndGet() > current.maxWaiting()) {
+                release(clientBucket, clientCost);
+                release(campaignBucket, campaignCost);
+                rejectedQueue.increment();
+                throw new AdmissionRejectedException("Too many donations waiting", Duration.ofNanos(wait));
+            }
+            delayed.increment();
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for donation admission", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public AdmissionLimits getLimits() {
+        return limits;
+    }
+
+    public void setLimits(AdmissionLimits limits) {
+        this.limits = limits;
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("rejectedCampaign", (long) rejectedCampaign.count());
+        stats.put("rejectedClient", (long) rejectedClient.count());
+        stats.put("rejectedQueue", (long) rejectedQueue.count());
+        stats.put("delayed", (long) delayed.count());
+        stats.put("waiting", (long) waiting.get());
+        stats.put("campaignBuckets", (long) campaigns.size());
+        stats.put("clientBuckets", (long) clients.size());
+        return stats;
+    }
+
+    // A bucket whose budget is fully restored behaves exactly like a new one, so it can be dropped. A
+    // reservation racing with the removal is lost, which can only admit one extra donation
+    @Scheduled(fixedDelayString = "${donations.admission.sweep-interval-ms:60000}")
+    public void sweepIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        campaigns.values().removeIf(bucket -> idle(bucket.get(), now));
+        clients.values().removeIf(bucket -> idle(bucket.get(), now));
+    }
+
+    /**
+     * Takes the next {@code cost} nanoseconds of the bucket's budget, of which up to {@code tolerance} (the
+     * burst) may be taken ahead of time. Returns the nanoseconds until the reservation starts, 0 when there is
+     * budget now, or, when that is more than {@code maxWait} away, that delay negated with nothing taken.
+     */
+    static long reserve(AtomicLong bucket, long cost, long tolerance, long maxWait, long now) {
+        while (true) {
+            long restoredAt = bucket.get();
+            long next = (idle(restoredAt, now) ? now : restoredAt) + cost;
+            long wait = next - now - tolerance;
+            if (wait > maxWait) {
+                return -wait;
+            }
+            if (bucket.compareAndSet(restoredAt, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    private static void checkBurst(int permits, int burst, String budget) {
+        if (permits > burst) {
+            throw new ValidationException("A batch may contain at most " + burst + " donations under the "
+                    + budget + " admission limit");
+        }
+    }
+
+    // Compared by difference, as nanoTime values may wrap; MIN_VALUE marks a bucket never reserved from
+    private static boolean idle(long restoredAt, long now) {
+        return restoredAt == Long.MIN_VALUE || restoredAt - now <= 0;
+    }
+
+    private static void release(AtomicLong bucket, long cost) {
+        if (bucket != null) {
+            bucket.addAndGet(-cost);
+        }
+    }
+
+    private static long interval(double rate) {
+        return rate > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate)) : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Donation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit queue for single donations. Donations arriving within a short window are drained by one
+ * flusher thread and applied through {@link DonationService#applyGroupedDonations}, so a burst costs one
+ * batched INSERT and one funding UPDATE per campaign instead of a round trip per donation. When sharded
+ * each shard's campaigns are applied in their own transaction.
+ */
+@Component
+public class DonationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationBatcher.class);
+
+    private final DonationService donationService;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxBatch;
+    private final BlockingQueue<PendingDonation> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public DonationBatcher(DonationService donationService,
+                           ShardRouter shardRouter,
+                           @Value("${donations.group-commit.enabled:false}") boolean enabled,
+                           @Value("${donations.group-commit.window-ms:5}") long windowMillis,
+                           @Value("${donations.group-commit.max-batch:500}") int maxBatch,
+                           @Value("${donations.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.donationService = donationService;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "donation-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Queues a donation for the next group commit and waits for its outcome. Blocks when the queue is full,
+     * which pushes back on callers instead of buffering without bound.
+     */
+    public Donation donate(Long campaignId, Donation donation) {
+        donationService.validateDonation(donation);
+        if (!running) {
+            throw new IllegalStateException("Donation group commit is not running");
+        }
+        PendingDonation pending = new PendingDonation(campaignId, donation);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing donation", e);
+        }
+        // stop() may have come in between the check and the put, after the flusher's last drain; a donation
+        // still queued then would never be applied
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Donation group commit is not running");
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<PendingDonation> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDonation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingDonation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                batch.forEach(DonationBatcher::reject);
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // Whatever is left was queued after the last drain, or the flusher was interrupted; its callers would
+        // otherwise wait forever
+        for (PendingDonation pending; (pending = queue.poll()) != null; ) {
+            reject(pending);
+        }
+    }
+
+    private static void reject(PendingDonation pending) {
+        pending.result.completeExceptionally(new IllegalStateException("Donation group commit is not running"));
+    }
+
+    private void flush(List<PendingDonation> batch) {
+        Map<Long, List<Donation>> byCampaign = new LinkedHashMap<>();
+        for (PendingDonation pending : batch) {
+            byCampaign.computeIfAbsent(pending.campaignId, id -> new ArrayList<>()).add(pending.donation);
+        }
+
+        Map<Long, RuntimeException> failures = new HashMap<>();
+        shardRouter.partition(byCampaign).forEach((shard, campaigns) -> {
+            try {
+                failures.putAll(shardRouter.onShard(shard, () -> donationService.applyGroupedDonations(campaigns)));
+            } catch (RuntimeException e) {
+                log.warn("Group commit of donations to {} campaigns failed", campaigns.size(), e);
+                campaigns.keySet().forEach(campaignId -> failures.put(campaignId, e));
+            }
+        });
+
+        for (PendingDonation pending : batch) {
+            RuntimeException failure = failures.get(pending.campaignId);
+            if (failure != null) {
+                pending.result.completeExceptionally(failure);
+            } else {
+                pending.result.complete(pending.donation);
+            }
+        }
+    }
+
+    private static final class PendingDonation {
+        private final Long campaignId;
+        private final Donation donation;
+        private final CompletableFuture<Donation> result = new CompletableFuture<>();
+
+        private PendingDonation(Long campaignId, Donation donation) {
+            this.campaignId = campaignId;
+            this.donation = donation;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.examly.springapp.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only donation log made of fixed-size memory-mapped segment files.
+ *
+ * <p>Each record is {@code [int payload length][int CRC32C of payload][payload]} and carries a sequence
+ * number that increases across segments; a segment is named after the first sequence it holds. Appends only
+ * write into the mapping, {@link #sync()} forces the written range to disk, so callers can batch many appends
+ * per fsync. On open every segment is scanned and the log ends at the first zero length or checksum mismatch
+ * (a torn write from a crash); the rest of that segment is zeroed so stale bytes can never be read back.
+ * Segments whose records have all been applied are deleted by {@link #release(long)}.
+ */
+class DonationJournal implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final List<Entry> recovered = new ArrayList<>();
+    private Segment active;
+    private long nextSequence = 1;
+
+    DonationJournal(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            Segment segment = Segment.map(file, segmentBytes);
+            segments.put(segment.firstSequence, segment);
+            recover(segment);
+        }
+        active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+    }
+
+    /**
+     * Records found on disk when the journal was opened, in sequence order.
+     */
+    List<Entry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Writes the record into the active segment and returns its sequence number. Not durable until the next
+     * {@link #sync()}.
+     */
+    long append(Record record) {
+        byte[] payload = record.encode();
+        if (payload.length + HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Donation record of " + payload.length + " bytes exceeds the segment size");
+        }
+        lock.lock();
+        try {
+            if (active.writePosition + HEADER_BYTES + payload.length + Long.BYTES > segmentBytes) {
+                active.force(active.writePosition);
+                active = roll();
+            }
+            long sequence = nextSequence++;
+            ByteBuffer framed = ByteBuffer.allocate(HEADER_BYTES + Long.BYTES + payload.length);
+            CRC32C crc = new CRC32C();
+            crc.update(longBytes(sequence));
+            crc.update(payload);
+            framed.putInt(Long.BYTES + payload.length).putInt((int) crc.getValue()).putLong(sequence).put(payload);
+            active.buffer.put(active.writePosition, framed.array());
+            active.writePosition += framed.capacity();
+            active.lastSequence = sequence;
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The highest sequence appended so far, or 0 if none.
+     */
+    long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk. The force itself runs outside the append lock so writers
+     * keep filling the mapping while it is in progress.
+     */
+    void sync() {
+        Segment segment;
+        int upTo;
+        lock.lock();
+        try {
+            segment = active;
+            upTo = active.writePosition;
+        } finally {
+            lock.unlock();
+        }
+        segment.force(upTo);
+    }
+
+    /**
+     * Deletes every closed segment whose records all have a sequence at or below {@code appliedSequence}.
+     * Returns the number of segments removed.
+     */
+    int release(long appliedSequence) {
+        List<Segment> reclaimable = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Long, Segment>> it = segments.entrySet().iterator();
+            while (it.hasNext()) {
+                Segment segment = it.next().getValue();
+                if (segment == active || segment.lastSequence > appliedSequence) {
+                    break;
+                }
+                it.remove();
+                reclaimable.add(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : reclaimable) {
+            segment.delete();
+        }
+        return reclaimable.size();
+    }
+
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.force(segment.writePosition);
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover(Segment segment) throws IOException {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES + Long.BYTES <= segmentBytes) {
+            int length = buffer.getInt(position);
+            if (length < Long.BYTES || position + HEADER_BYTES + length > segmentBytes) {
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(position + HEADER_BYTES, body);
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            ByteBuffer in = ByteBuffer.wrap(body);
+            long sequence = in.getLong();
+            if (sequence < nextSequence) {
+                break;
+            }
+            byte[] payload = new byte[length - Long.BYTES];
+            in.get(payload);
+            recovered.add(new Entry(sequence, Record.decode(payload)));
+            segment.lastSequence = sequence;
+            nextSequence = sequence + 1;
+            position += HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+        // Clear whatever follows the last good record so a later recovery cannot resurrect unsynced writes
+        if (position < segmentBytes) {
+            buffer.put(position, new byte[segmentBytes - position]);
+            segment.force(segmentBytes);
+        }
+    }
+
+    private Segment roll() throws UncheckedIOException {
+        Path file = directory.resolve(String.format("%020d", nextSequence) + SUFFIX);
+        try {
+            Segment segment = Segment.map(file, segmentBytes);
+            segments.put(segment.firstSequence, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + file, e);
+        }
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    /**
+     * A journaled donation. The amount is kept as its decimal string so no precision is lost.
+     */
+    record Record(long campaignId, BigDecimal amount, String donorName, String message, LocalDateTime donatedAt) {
+
+        byte[] encode() {
+            byte[] amountBytes = amount.toPlainString().getBytes(StandardCharsets.UTF_8);
+            byte[] donorBytes = donorName.getBytes(StandardCharsets.UTF_8);
+            byte[] messageBytes = message == null ? null : message.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer out = ByteBuffer.allocate(Long.BYTES * 2 + Integer.BYTES * 3
+                    + amountBytes.length + donorBytes.length + (messageBytes == null ? 0 : messageBytes.length));
+            out.putLong(campaignId);
+            out.putLong(donatedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+            out.putInt(amountBytes.length).put(amountBytes);
+            out.putInt(donorBytes.length).put(donorBytes);
+            out.putInt(messageBytes == null ? -1 : messageBytes.length);
+            if (messageBytes != null) {
+                out.put(messageBytes);
+            }
+            return out.array();
+        }
+
+        static Record decode(byte[] payload) {
+            ByteBuffer in = ByteBuffer.wrap(payload);
+            long campaignId = in.getLong();
+            LocalDateTime donatedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.getLong()), ZoneOffset.UTC);
+            BigDecimal amount = new BigDecimal(string(in, in.getInt()));
+            String donorName = string(in, in.getInt());
+            int messageLength = in.getInt();
+            String message = messageLength < 0 ? null : string(in, messageLength);
+            return new Record(campaignId, amount, donorName, message, donatedAt);
+        }
+
+        private static String string(ByteBuffer in, int length) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    record Entry(long sequence, Record record) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int syncedPosition;
+        private long lastSequence;
+
+        private Segment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastSequence = firstSequence - 1;
+        }
+
+        static Segment map(Path path, int size) throws IOException {
+            String name = path.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, firstSequence, channel, buffer);
+        }
+
+        synchronized void force(int upTo) {
+            if (upTo > syncedPosition) {
+                buffer.force(syncedPosition, upTo - syncedPosition);
+                syncedPosition = upTo;
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete journal segment " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.DonationsAppliedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed donations and their amounts. Campaign ids are deliberately not used as tags;
+ * per-campaign figures are served by the stats endpoint instead.
+ */
+@Component
+public class DonationMetrics {
+
+    private final Counter donations;
+    private final Counter amountTotal;
+    private final DistributionSummary batchSize;
+
+    public DonationMetrics(MeterRegistry registry) {
+        this.donations = Counter.builder("donations.accepted")
+                .description("Committed donations")
+                .register(registry);
+        this.amountTotal = Counter.builder("donations.amount")
+                .description("Sum of committed donation amounts")
+                .baseUnit("currency")
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("donations.commit.size")
+                .description("Donations applied to one campaign per commit")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDonationsApplied(DonationsAppliedEvent event) {
+        donations.increment(event.count());
+        amountTotal.increment(event.amount().doubleValue());
+        batchSize.record(event.count());
+    }
+}
@@ -0,0 +1,249 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignTimeseries;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.model.DonationRollup;
+import com.examly.springapp.model.DonationRollupWatermark;
+import com.examly.springapp.model.RollupGranularity;
+import com.examly.springapp.repository.DonationRollupRepository;
+import com.examly.springapp.repository.DonationRollupWatermarkRepository;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.examly.springapp.model.RollupGranularity.*;
+
+/**
+ * Per-campaign donation counts and sums by minute, hour and day, so funding-velocity charts cost one value per
+ * bucket rather than a pass over donations.
+ *
+ * <p>Recent buckets live in memory in a {@link DonationSeries} per campaign, fed after each donation commits.
+ * Older buckets come from {@code donation_rollups}, which a scheduled compaction fills from the donations
+ * table: closed minutes are aggregated into minute rows, and the hours and days they touch are re-derived
+ * from the finer rows. Minute rows are kept for two days and hour rows for 90 days; day rows are kept.
+ * Each run also re-reads the last {@code lateness} minutes, so donations committed with an earlier donation
+ * time (batched or journaled ones) still reach their bucket.
+ */
+@Service
+public class DonationRollupService {
+
+    static final int MAX_BUCKETS = 1000;
+    private static final String WATERMARK = "donations";
+    private static final long MINUTE_RETENTION = TimeUnit.DAYS.toMinutes(2);
+    private static final long HOUR_RETENTION = TimeUnit.DAYS.toMinutes(90);
+
+    private final DonationRollupRepository rollupRepository;
+    private final DonationRollupWatermarkRepository watermarkRepository;
+    private final ShardRouter shardRouter;
+    private final long latenessMinutes;
+    private final ConcurrentHashMap<Long, DonationSeries> series = new ConcurrentHashMap<>();
+
+    public DonationRollupService(DonationRollupRepository rollupRepository,
+                                 DonationRollupWatermarkRepository watermarkRepository,
+                                 ShardRouter shardRouter,
+                                 @Value("${donations.rollups.lateness-minutes:5}") long latenessMinutes) {
+        this.rollupRepository = rollupRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.shardRouter = shardRouter;
+        this.latenessMinutes = latenessMinutes;
+    }
+
+    // Called once the donations have committed
+    void record(Long campaignId, List<Donation> donations) {
+        DonationSeries campaignSeries = series(campaignId);
+        for (Donation donation : donations) {
+            long minute = donation.getDonatedAt() == null ? currentMinute() : minuteOf(donation.getDonatedAt());
+            campaignSeries.record(minute, 1, cents(donation.getAmount()));
+        }
+    }
+
+    // Runs in the campaign's delete transaction
+    void remove(Long campaignId) {
+        rollupRepository.deleteByCampaignId(campaignId);
+        CampaignStatsService.afterCommit(() -> series.remove(campaignId));
+    }
+
+    /**
+     * Buckets from {@code from} to {@code to}, both inclusive and rounded down to their bucket; by default the
+     * buckets held in memory up to now.
+     */
+    public CampaignTimeseries getTimeseries(Long campaignId, RollupGranularity granularity,
+                                            LocalDateTime from, LocalDateTime to) {
+        long nowMinute = currentMinute();
+        long last = granularity.bucketOf(to == null ? nowMinute : minuteOf(to));
+        long first = from == null ? last - DonationSeries.slots(granularity) + 1 : granularity.bucketOf(minuteOf(from));
+        if (first > last) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (last - first >= MAX_BUCKETS) {
+            throw new ValidationException("At most " + MAX_BUCKETS + " buckets can be requested at once");
+        }
+
+        int size = (int) (last - first + 1);
+        long[] counts = new long[size];
+        long[] cents = new long[size];
+        // Buckets the rings still hold are read from memory, older ones from the compacted rows
+        long memoryFrom = Math.max(first, DonationSeries.oldestBucket(granularity, nowMinute));
+        if (first < memoryFrom) {
+            long rowsTo = Math.min(last, memoryFrom - 1);
+            List<DonationRollup> rows = shardRouter.onCampaign(campaignId,
+                    () -> rollupRepository.findSeries(campaignId, granularity, first, rowsTo));
+            for (DonationRollup row : rows) {
+                int i = (int) (row.getBucket() - first);
+                counts[i] = row.getDonationCount();
+                cents[i] = cents(row.getTotalAmount());
+            }
+        }
+        DonationSeries campaignSeries = series.get(campaignId);
+        if (campaignSeries != null && memoryFrom <= last) {
+            campaignSeries.read(granularity, memoryFrom, counts, cents, (int) (memoryFrom - first));
+        }
+
+        List<CampaignTimeseries.Bucket> buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new CampaignTimeseries.Bucket(granularity.start(first + i), counts[i],
+                    BigDecimal.valueOf(cents[i], 2)));
+        }
+        return new CampaignTimeseries(campaignId, granularity, buckets);
+    }
+
+    /**
+     * Compacts every closed minute since the last run into rollup rows and drops rows past their retention.
+     */
+    @Scheduled(initialDelayString = "${donations.rollups.compact-interval-ms:60000}",
+            fixedDelayString = "${donations.rollups.compact-interval-ms:60000}")
+    @Transactional
+    public synchronized void compact() {
+        long until = currentMinute();
+        shardRouter.forEachShard(false, () -> compactShard(until));
+        series.values().removeIf(campaignSeries -> campaignSeries.idle(until));
+    }
+
+    /**
+     * Recomputes every rollup row from the donations table and reloads the in-memory series.
+     */
+    @Transactional
+    public synchronized void rebuild() {
+        shardRouter.forEachShard(false, () -> {
+            rollupRepository.deleteAllInBatch();
+            watermarkRepository.deleteAllInBatch();
+        });
+        compact();
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        series.clear();
+        long nowMinute = currentMinute();
+        shardRouter.forEachShard(true, () -> {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                long oldest = DonationSeries.oldestBucket(granularity, nowMinute);
+                for (DonationRollup row : rollupRepository.findRange(granularity, oldest, Long.MAX_VALUE)) {
+                    series(row.getCampaignId()).add(granularity, row.getBucket(), row.getDonationCount(),
+                            cents(row.getTotalAmount()));
+                }
+            }
+            // Donations from the watermark on are not in any row yet
+            long compacted = watermarkRepository.findById(WATERMARK)
+                    .map(DonationRollupWatermark::getCompactedUntil)
+                    .orElse(Long.MIN_VALUE);
+            long since = Math.max(compacted, DAY.firstMinute(DonationSeries.oldestBucket(DAY, nowMinute)));
+            try (Stream<Object[]> rows = rollupRepository.streamDonationsSince(start(since))) {
+                rows.forEach(row -> series((Long) row[0])
+                        .record(minuteOf((LocalDateTime) row[1]), 1, cents((BigDecimal) row[2])));
+            }
+        });
+    }
+
+    private void compactShard(long until) {
+        DonationRollupWatermark watermark = watermarkRepository.findForUpdate(WATERMARK).orElse(null);
+        long from;
+        if (watermark == null) {
+            // First run: everything the donations table already holds
+            LocalDateTime first = rollupRepository.findFirstDonationTime();
+            from = first == null ? until : minuteOf(first);
+            watermark = new DonationRollupWatermark(WATERMARK, from);
+        } else {
+            from = watermark.getCompactedUntil() - latenessMinutes;
+        }
+
+        if (from < until) {
+            Map<DonationRollup.Key, DonationRollup> minutes = new HashMap<>();
+            try (Stream<Object[]> rows = rollupRepository.streamDonationsBetween(start(from), start(until))) {
+                rows.forEach(row -> rollup(minutes, (Long) row[0], MINUTE, minuteOf((LocalDateTime) row[1]))
+                        .add(1, (BigDecimal) row[2]));
+            }
+            replace(MINUTE, from, until, minutes.values());
+            rollUp(MINUTE, HOUR, from, until);
+            rollUp(HOUR, DAY, from, until);
+        }
+        rollupRepository.deleteRange(MINUTE, Long.MIN_VALUE, until - MINUTE_RETENTION);
+        rollupRepository.deleteRange(HOUR, Long.MIN_VALUE, HOUR.bucketOf(until - HOUR_RETENTION));
+        watermark.setCompactedUntil(until);
+        watermarkRepository.save(watermark);
+    }
+
+    // Re-derives the coarser buckets touching minutes [from, until) from the finer rows
+    private void rollUp(RollupGranularity finer, RollupGranularity coarser, long from, long until) {
+        long first = coarser.bucketOf(from);
+        long end = coarser.bucketOf(until - 1) + 1;
+        Map<DonationRollup.Key, DonationRollup> rolled = new HashMap<>();
+        List<DonationRollup> rows = rollupRepository.findRange(finer,
+                finer.bucketOf(coarser.firstMinute(first)), finer.bucketOf(coarser.firstMinute(end)));
+        for (DonationRollup row : rows) {
+            long bucket = coarser.bucketOf(finer.firstMinute(row.getBucket()));
+            rollup(rolled, row.getCampaignId(), coarser, bucket).add(row.getDonationCount(), row.getTotalAmount());
+        }
+        replace(coarser, first, end, rolled.values());
+    }
+
+    private void replace(RollupGranularity granularity, long from, long to, Collection<DonationRollup> rows) {
+        rollupRepository.deleteRange(granularity, from, to);
+        rollupRepository.saveAll(rows);
+    }
+
+    private static DonationRollup rollup(Map<DonationRollup.Key, DonationRollup> rollups, Long campaignId,
+                                         RollupGranularity granularity, long bucket) {
+        return rollups.computeIfAbsent(new DonationRollup.Key(campaignId, granularity, bucket),
+                key -> new DonationRollup(campaignId, granularity, bucket));
+    }
+
+    private DonationSeries series(Long campaignId) {
+        return series.computeIfAbsent(campaignId, id -> new DonationSeries());
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long minuteOf(LocalDateTime time) {
+        return TimeUnit.SECONDS.toMinutes(time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    private static LocalDateTime start(long epochMinute) {
+        return MINUTE.start(epochMinute);
+    }
+
+    private static long currentMinute() {
+        return minuteOf(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,115 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.RollupGranularity;
+
+import java.util.Arrays;
+
+/**
+ * Recent donation counts and sums of one campaign: the last {@value #MINUTE_SLOTS} minutes, {@value #HOUR_SLOTS}
+ * hours and {@value #DAY_SLOTS} days, each in a ring of primitive slots. As in {@link DonationWindow} every slot
+ * remembers its bucket, so stale slots read as zero and are recycled on write. A ring is allocated on the first
+ * donation it covers, so a campaign that was quiet for a day only holds its day ring. Sums are in cents.
+ */
+final class DonationSeries {
+
+    static final int MINUTE_SLOTS = 120;
+    static final int HOUR_SLOTS = 48;
+    static final int DAY_SLOTS = 30;
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    private final Ring[] rings = new Ring[RollupGranularity.values().length];
+
+    static int slots(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> MINUTE_SLOTS;
+            case HOUR -> HOUR_SLOTS;
+            case DAY -> DAY_SLOTS;
+        };
+    }
+
+    // Oldest bucket the rings still hold at this minute
+    static long oldestBucket(RollupGranularity granularity, long nowMinute) {
+        return granularity.bucketOf(nowMinute) - slots(granularity) + 1;
+    }
+
+    synchronized void record(long epochMinute, long count, long cents) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            add(granularity, granularity.bucketOf(epochMinute), count, cents);
+        }
+    }
+
+    synchronized void add(RollupGranularity granularity, long bucket, long count, long cents) {
+        Ring ring = rings[granularity.ordinal()];
+        if (ring == null) {
+            ring = rings[granularity.ordinal()] = new Ring(slots(granularity));
+        }
+        ring.add(bucket, count, cents);
+    }
+
+    /**
+     * Copies buckets {@code from, from + 1, ...} into the arrays, starting at {@code offset}; buckets the ring
+     * no longer holds read as zero.
+     */
+    synchronized void read(RollupGranularity granularity, long from, long[] counts, long[] cents, int offset) {
+        Ring ring = rings[granularity.ordinal()];
+        if (ring == null) {
+            return;
+        }
+        for (int i = offset; i < counts.length; i++) {
+            int slot = ring.slot(from + i - offset);
+            if (ring.bucketOf[slot] == from + i - offset) {
+                counts[i] = ring.counts[slot];
+                cents[i] = ring.cents[slot];
+            }
+        }
+    }
+
+    // True once every bucket held has aged out of its ring
+    synchronized boolean idle(long nowMinute) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Ring ring = rings[granularity.ordinal()];
+            if (ring != null && ring.newest() >= oldestBucket(granularity, nowMinute)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Ring {
+        private final long[] bucketOf;
+        private final long[] counts;
+        private final long[] cents;
+
+        private Ring(int slots) {
+            bucketOf = new long[slots];
+            counts = new long[slots];
+            cents = new long[slots];
+            Arrays.fill(bucketOf, NEVER);
+        }
+
+        private int slot(long bucket) {
+            return Math.floorMod(bucket, bucketOf.length);
+        }
+
+        private void add(long bucket, long count, long cents) {
+            int s = slot(bucket);
+            if (bucketOf[s] < bucket) {
+                bucketOf[s] = bucket;
+                counts[s] = 0;
+                this.cents[s] = 0;
+            }
+            if (bucketOf[s] == bucket) {
+                counts[s] += count;
+                this.cents[s] += cents;
+            }
+        }
+
+        private long newest() {
+            long newest = NEVER;
+            for (long bucket : bucketOf) {
+                newest = Math.max(newest, bucket);
+            }
+            return newest;
+        }
+    }
+}
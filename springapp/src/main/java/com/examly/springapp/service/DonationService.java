@@ -1,5 +1,7 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.DonationSummary;
+import com.examly.springapp.event.DonationsAppliedEvent;
 import com.examly.springapp.model.Campaign;
 import com.examly.springapp.model.CampaignStatus;
 import com.examly.springapp.model.Donation;
@@ -8,52 +10,160 @@ import com.examly.springapp.repository.DonationRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class DonationService {
 
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final DonationRepository donationRepository;
     private final CampaignRepository campaignRepository;
     private final CampaignService campaignService;
+    private final CampaignCache campaignCache;
+    private final CampaignStatsService campaignStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DonationService(DonationRepository donationRepository,
                            CampaignRepository campaignRepository,
-                           CampaignService campaignService) {
+                           CampaignService campaignService,
+                           CampaignCache campaignCache,
+                           CampaignStatsService campaignStatsService,
+                           ApplicationEventPublisher eventPublisher) {
         this.donationRepository = donationRepository;
         this.campaignRepository = campaignRepository;
         this.campaignService = campaignService;
+        this.campaignCache = campaignCache;
+        this.campaignStatsService = campaignStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public Donation makeDonation(Long campaignId, Donation donation) {
-        Campaign campaign = campaignRepository.findById(campaignId)
+        // A cached snapshot is enough for the fast-fail check; the guarded increment below re-checks the row
+        Campaign campaign = campaignCache.get(campaignId)
                 .orElseThrow(() -> new EntityNotFoundException("Campaign not found"));
 
         if (campaign.getStatus() != CampaignStatus.ACTIVE) {
             throw new ValidationException("Cannot donate. Campaign is not ACTIVE.");
         }
 
-        // Update the campaign’s current amount
-        BigDecimal updatedAmount = campaign.getCurrentAmount().add(donation.getAmount());
-        campaign.setCurrentAmount(updatedAmount);
+        // Add to the campaign’s current amount in the database; the guard re-checks ACTIVE/deadline so a concurrent
+        // status change cannot be raced. The row lock taken here is held until this transaction commits, so this
+        // stays the first write: the donation INSERT is only flushed at commit, and flushing it earlier would take
+        // the foreign key's shared lock on the same row first and turn concurrent donors into lock upgrades
+        int updated = campaignRepository.incrementCurrentAmount(campaignId, donation.getAmount(), LocalDate.now());
+        if (updated == 0) {
+            throw new ValidationException("Cannot donate. Campaign is not ACTIVE or has expired.");
+        }
+        campaignCache.invalidate(campaignId);
+        // The snapshot is not managed; reflect this donation on it for the caller's view
+        campaign.setCurrentAmount(campaign.getCurrentAmount().add(donation.getAmount()));
 
         // Save donation
         donation.setCampaign(campaign);
         Donation savedDonation = donationRepository.save(donation);
+        campaignStatsService.recordDonations(campaignId, List.of(savedDonation));
+        eventPublisher.publishEvent(new DonationsAppliedEvent(campaignId, donation.getAmount(), 1));
 
         // Update status if needed
         campaignService.updateCampaignStatusBasedOnFunding(campaign);
         return savedDonation;
     }
 
-    public List<Donation> getDonationsForCampaign(Long campaignId) {
+    // Bulk path: one funding UPDATE for the summed amount and one batched INSERT for all rows
+    @Transactional
+    public List<Donation> makeDonations(Long campaignId, List<Donation> donations) {
+        if (donations == null || donations.isEmpty()) {
+            throw new ValidationException("At least one donation is required");
+        }
+        if (donations.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("A batch may contain at most " + MAX_BATCH_SIZE + " donations");
+        }
+        donations.forEach(this::validateDonation);
+
+        RuntimeException failure = applyGroupedDonations(Map.of(campaignId, donations)).get(campaignId);
+        if (failure != null) {
+            throw failure;
+        }
+        return donations;
+    }
+
+    /**
+     * Applies donations for several campaigns in a single transaction: per campaign one guarded increment of
+     * the summed amount and one completion check, then a single batched INSERT of every accepted donation.
+     * Campaigns that are missing or not ACTIVE are skipped and reported in the returned map by campaign id.
+     * Campaign rows are locked in ascending id order so concurrent batches cannot deadlock each other.
+     */
+    @Transactional
+    public Map<Long, RuntimeException> applyGroupedDonations(Map<Long, List<Donation>> donationsByCampaign) {
+        Map<Long, RuntimeException> failures = new HashMap<>();
+        List<Campaign> funded = new ArrayList<>();
+        List<Donation> accepted = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        for (Map.Entry<Long, List<Donation>> entry : new TreeMap<>(donationsByCampaign).entrySet()) {
+            Long campaignId = entry.getKey();
+            Optional<Campaign> campaign = campaignCache.get(campaignId);
+            if (campaign.isEmpty()) {
+                failures.put(campaignId, new EntityNotFoundException("Campaign not found"));
+                continue;
+            }
+
+            BigDecimal total = entry.getValue().stream()
+                    .map(Donation::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (campaignRepository.incrementCurrentAmount(campaignId, total, today) == 0) {
+                failures.put(campaignId, new ValidationException("Cannot donate. Campaign is not ACTIVE or has expired."));
+                continue;
+            }
+            campaignCache.invalidate(campaignId);
+
+            Campaign c = campaign.get();
+            c.setCurrentAmount(c.getCurrentAmount().add(total));
+            entry.getValue().forEach(d -> d.setCampaign(c));
+            accepted.addAll(entry.getValue());
+            funded.add(c);
+        }
+
+        donationRepository.saveAll(accepted);
+        for (Campaign campaign : funded) {
+            List<Donation> applied = donationsByCampaign.get(campaign.getId());
+            campaignStatsService.recordDonations(campaign.getId(), applied);
+            eventPublisher.publishEvent(new DonationsAppliedEvent(campaign.getId(),
+                    applied.stream().map(Donation::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add),
+                    applied.size()));
+            campaignService.updateCampaignStatusBasedOnFunding(campaign);
+        }
+        return failures;
+    }
+
+    public List<DonationSummary> getDonationsForCampaign(Long campaignId) {
         if (!campaignRepository.existsById(campaignId)) {
             throw new EntityNotFoundException("Campaign with ID " + campaignId + " not found");
         }
-        return donationRepository.findByCampaignId(campaignId);
+        return donationRepository.findSummariesByCampaignId(campaignId);
+    }
+
+    void validateDonation(Donation donation) {
+        if (donation.getAmount() == null || donation.getAmount().compareTo(BigDecimal.ONE) < 0) {
+            throw new ValidationException("Minimum donation amount is 1.0");
+        }
+
+        if (donation.getDonorName() == null || donation.getDonorName().isBlank()) {
+            throw new ValidationException("Donor name is required");
+        }
     }
 }
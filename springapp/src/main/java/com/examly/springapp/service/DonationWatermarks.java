@@ -0,0 +1,97 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.ReplicaRoutingDataSource;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.event.DonationsAppliedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-campaign donation watermark: the number of donations the campaign has. Donations are only ever added,
+ * so the count names one version of the donation list and conditional reads can be answered from memory.
+ *
+ * <p>A watermark is learned from a list read and dropped once new donations commit. As in {@link CampaignCache},
+ * a read only publishes if no commit removed its in-flight marker while it ran. Reads that may have gone to a
+ * replica never publish, since the replica may not have the latest donations yet. Entries expire after the
+ * campaign cache TTL, which bounds how long writes made on another instance go unnoticed.
+ */
+@Component
+public class DonationWatermarks {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    // Watermark, or the in-flight marker of a read about to publish one
+    private final ConcurrentHashMap<Long, Object> entries = new ConcurrentHashMap<>();
+
+    public DonationWatermarks(@Value("${campaigns.cache.max-size:10000}") int maxSize,
+                              @Value("${campaigns.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public OptionalLong get(Long campaignId) {
+        if (entries.get(campaignId) instanceof Watermark watermark) {
+            if (!watermark.expired(System.nanoTime())) {
+                return OptionalLong.of(watermark.donations());
+            }
+            entries.remove(campaignId, watermark);
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Runs a read of the campaign's full donation list and remembers its size as the watermark.
+     */
+    public <T> List<T> load(Long campaignId, Supplier<List<T>> read) {
+        if (ReplicaRoutingDataSource.lastWrite() != null || !hasRoom()) {
+            return read.get();
+        }
+        Object marker = new Object();
+        entries.put(campaignId, marker);
+        try {
+            List<T> donations = read.get();
+            entries.replace(campaignId, marker, new Watermark(donations.size(), System.nanoTime() + ttlNanos));
+            return donations;
+        } finally {
+            entries.remove(campaignId, marker);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDonationsApplied(DonationsAppliedEvent event) {
+        entries.remove(event.campaignId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.deleted()) {
+            entries.remove(event.campaignId());
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private boolean hasRoom() {
+        if (entries.size() < maxSize) {
+            return true;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry instanceof Watermark watermark && watermark.expired(now));
+        return entries.size() < maxSize;
+    }
+
+    private record Watermark(long donations, long expiresAt) {
+        boolean expired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
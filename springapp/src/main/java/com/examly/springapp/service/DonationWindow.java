@@ -0,0 +1,70 @@
+package com.examly.springapp.service;
+
+import java.util.Arrays;
+
+/**
+ * Rolling donation counters for one campaign: 60 one-minute slots for the last hour and 24 one-hour slots
+ * for the last day. Each slot remembers which minute/hour it belongs to, so stale slots are ignored on read
+ * and recycled on write without a background sweeper. Reads touch a fixed number of slots.
+ */
+final class DonationWindow {
+
+    private static final int MINUTES = 60;
+    private static final int HOURS = 24;
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    private final long[] minuteCounts = new long[MINUTES];
+    private final long[] minuteOf = new long[MINUTES];
+    private final long[] hourCounts = new long[HOURS];
+    private final long[] hourOf = new long[HOURS];
+
+    DonationWindow() {
+        Arrays.fill(minuteOf, NEVER);
+        Arrays.fill(hourOf, NEVER);
+    }
+
+    synchronized void record(long epochMinute, long count) {
+        int m = Math.floorMod(epochMinute, MINUTES);
+        if (minuteOf[m] < epochMinute) {
+            minuteOf[m] = epochMinute;
+            minuteCounts[m] = 0;
+        }
+        if (minuteOf[m] == epochMinute) {
+            minuteCounts[m] += count;
+        }
+
+        long epochHour = Math.floorDiv(epochMinute, MINUTES);
+        int h = Math.floorMod(epochHour, HOURS);
+        if (hourOf[h] < epochHour) {
+            hourOf[h] = epochHour;
+            hourCounts[h] = 0;
+        }
+        if (hourOf[h] == epochHour) {
+            hourCounts[h] += count;
+        }
+    }
+
+    synchronized long lastHour(long nowMinute) {
+        long total = 0;
+        for (int i = 0; i < MINUTES; i++) {
+            long age = nowMinute - minuteOf[i];
+            if (age >= 0 && age < MINUTES) {
+                total += minuteCounts[i];
+            }
+        }
+        return total;
+    }
+
+    // Hour resolution: the current partial hour plus the 23 before it
+    synchronized long lastDay(long nowMinute) {
+        long nowHour = Math.floorDiv(nowMinute, MINUTES);
+        long total = 0;
+        for (int i = 0; i < HOURS; i++) {
+            long age = nowHour - hourOf[i];
+            if (age >= 0 && age < HOURS) {
+                total += hourCounts[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,409 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.model.DonationDeadLetter;
+import com.examly.springapp.model.DonationJournalCheckpoint;
+import com.examly.springapp.repository.DonationDeadLetterRepository;
+import com.examly.springapp.repository.DonationJournalCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind mode for single donations. A donation is acknowledged as soon as it is durable in the local
+ * {@link DonationJournal}: appends are fsynced in groups by one syncer thread, so a burst of requests shares
+ * a single force. A drainer thread then applies journaled donations in sequence order and in batches through
+ * {@link DonationService#applyGroupedDonations}, advancing a {@link DonationJournalCheckpoint} in the same
+ * transaction. On startup every record above the checkpoint is replayed, so each donation reaches the
+ * database exactly once; segments wholly below the checkpoint are deleted. When sharded every shard keeps
+ * its own checkpoint row, advanced with that shard's donations, so a batch that commits on some shards and
+ * fails on others is retried only where it failed.
+ *
+ * <p>Campaign status is checked against the cache before acknowledging, but the guarded increment can still
+ * refuse a donation whose campaign closed in the meantime. Those are counted as rejected and written, with the
+ * reason, to {@link DonationDeadLetter} rows in the transaction that advances the checkpoint past them.
+ */
+@Component
+public class DonationWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationWriteBehind.class);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 10_000;
+
+    private final DonationService donationService;
+    private final CampaignCache campaignCache;
+    private final DonationJournalCheckpointRepository checkpointRepository;
+    private final DonationDeadLetterRepository deadLetterRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long syncWindowMillis;
+    private final int drainBatch;
+    private final int maxBacklog;
+    private final String journalId;
+    private final Counter rejected;
+
+    // Guarded by lock, signalled on changed: records in sequence order, drainable once their sequence is at
+    // or below synced. A lock rather than a monitor, so request threads waiting here do not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ArrayDeque<DonationJournal.Entry> pending = new ArrayDeque<>();
+    private long syncedSequence;
+    private int backlog;
+    private RuntimeException syncFailure;
+
+    private volatile boolean running;
+    private DonationJournal journal;
+    private Thread syncer;
+    private Thread drainer;
+    // Highest sequence applied on each shard; only touched by start() and then the drainer thread
+    private long[] appliedSequences;
+
+    public DonationWriteBehind(DonationService donationService,
+                               CampaignCache campaignCache,
+                               DonationJournalCheckpointRepository checkpointRepository,
+                               DonationDeadLetterRepository deadLetterRepository,
+                               ShardRouter shardRouter,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${donations.write-behind.enabled:false}") boolean enabled,
+                               @Value("${donations.write-behind.directory:data/donation-journal}") String directory,
+                               @Value("${donations.write-behind.segment-bytes:67108864}") int segmentBytes,
+                               @Value("${donations.write-behind.sync-window-ms:2}") long syncWindowMillis,
+                               @Value("${donations.write-behind.drain-batch:500}") int drainBatch,
+                               @Value("${donations.write-behind.max-backlog:100000}") int maxBacklog,
+                               @Value("${donations.write-behind.journal-id:local}") String journalId) {
+        this.donationService = donationService;
+        this.campaignCache = campaignCache;
+        this.checkpointRepository = checkpointRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.syncWindowMillis = syncWindowMillis;
+        this.drainBatch = drainBatch;
+        this.maxBacklog = maxBacklog;
+        this.journalId = journalId;
+        this.rejected = Counter.builder("donations.journal.rejected")
+                .description("Journaled donations refused when applied to the database")
+                .register(registry);
+        Gauge.builder("donations.journal.backlog", this, DonationWriteBehind::backlog)
+                .description("Acknowledged donations not yet applied to the database")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new DonationJournal(directory, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open donation journal in " + directory, e);
+        }
+        appliedSequences = new long[shardRouter.shardCount()];
+        for (int shard = 0; shard < appliedSequences.length; shard++) {
+            appliedSequences[shard] = shardRouter.onShard(shard, () -> checkpointRepository.findById(journalId)
+                    .orElseGet(() -> checkpointRepository.save(new DonationJournalCheckpoint(journalId, 0)))
+                    .getAppliedSequence());
+        }
+        long applied = Arrays.stream(appliedSequences).min().orElse(0);
+        journal.release(applied);
+        lock.lock();
+        try {
+            pending.clear();
+            for (DonationJournal.Entry entry : journal.recovered()) {
+                if (entry.sequence() > appliedOn(entry)) {
+                    pending.addLast(entry);
+                }
+            }
+            backlog = pending.size();
+            syncedSequence = journal.lastSequence();
+            syncFailure = null;
+        } finally {
+            lock.unlock();
+        }
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} journaled donations above sequence {}", pending.size(), applied);
+        }
+        running = true;
+        syncer = new Thread(this::syncLoop, "donation-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+        drainer = new Thread(this::drainLoop, "donation-journal-drain");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (syncer != null) {
+            syncer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (drainer != null) {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Journals the donation and returns once it is on disk; the database is updated later by the drainer.
+     * The returned donation has no id yet. Blocks while the backlog is full so a stalled database pushes back
+     * on callers instead of filling the disk.
+     */
+    public Donation donate(Long campaignId, Donation donation) {
+        donationService.validateDonation(donation);
+        if (!running) {
+            throw new IllegalStateException("Donation journal is not running");
+        }
+        Campaign campaign = campaignCache.get(campaignId)
+                .orElseThrow(() -> new EntityNotFoundException("Campaign not found"));
+        if (campaign.getStatus() != CampaignStatus.ACTIVE || campaign.getDeadline().isBefore(LocalDateTime.now().toLocalDate())) {
+            throw new ValidationException("Cannot donate. Campaign is not ACTIVE or has expired.");
+        }
+        if (donation.getDonatedAt() == null) {
+            donation.setDonatedAt(LocalDateTime.now());
+        }
+        DonationJournal.Record record = new DonationJournal.Record(campaignId, donation.getAmount(),
+                donation.getDonorName(), donation.getMessage(), donation.getDonatedAt());
+
+        try {
+            lock.lock();
+            try {
+                while (backlog >= maxBacklog && running) {
+                    changed.await();
+                }
+                // Appending and queueing under one lock keeps the drain queue in sequence order
+                long sequence = journal.append(record);
+                pending.addLast(new DonationJournal.Entry(sequence, record));
+                backlog++;
+                changed.signalAll();
+                while (syncedSequence < sequence) {
+                    if (syncFailure != null) {
+                        throw new IllegalStateException("Donation journal could not be synced", syncFailure);
+                    }
+                    changed.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling donation", e);
+        }
+        return donation;
+    }
+
+    public int backlog() {
+        lock.lock();
+        try {
+            return backlog;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void syncLoop() {
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    while (running && journal.lastSequence() == syncedSequence) {
+                        changed.await(100, TimeUnit.MILLISECONDS);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (syncWindowMillis > 0) {
+                    // Let concurrent appends join this force
+                    Thread.sleep(syncWindowMillis);
+                }
+                long target = journal.lastSequence();
+                journal.sync();
+                lock.lock();
+                try {
+                    syncedSequence = target;
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Donation journal sync failed", e);
+                lock.lock();
+                try {
+                    syncFailure = e;
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                running = false;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<DonationJournal.Entry> batch = new ArrayList<>(drainBatch);
+        int attempts = 0;
+        while (true) {
+            try {
+                if (batch.isEmpty() && !takeBatch(batch)) {
+                    return;
+                }
+                apply(batch);
+                long last = batch.get(batch.size() - 1).sequence();
+                lock.lock();
+                try {
+                    backlog -= batch.size();
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                batch.clear();
+                attempts = 0;
+                journal.release(last);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the batch and retry it: the records are acknowledged and must not be dropped
+                attempts++;
+                log.warn("Applying {} journaled donations failed (attempt {})", batch.size(), attempts, e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(Math.min(MAX_RETRY_BACKOFF_MILLIS, 100L << Math.min(attempts, 7)));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Waits for durable records and moves up to drainBatch of them into batch; false once stopped and idle
+    private boolean takeBatch(List<DonationJournal.Entry> batch) throws InterruptedException {
+        lock.lock();
+        try {
+            while (pending.isEmpty() || pending.peekFirst().sequence() > syncedSequence) {
+                if (!running) {
+                    return false;
+                }
+                changed.await(100, TimeUnit.MILLISECONDS);
+            }
+            while (batch.size() < drainBatch && !pending.isEmpty()
+                    && pending.peekFirst().sequence() <= syncedSequence) {
+                batch.add(pending.pollFirst());
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(List<DonationJournal.Entry> batch) {
+        long last = batch.get(batch.size() - 1).sequence();
+        Map<Integer, Map<Long, List<DonationJournal.Entry>>> byShard = new TreeMap<>();
+        for (DonationJournal.Entry entry : batch) {
+            // Skips what an earlier, partly failed attempt at this batch already committed on its shard
+            if (entry.sequence() <= appliedOn(entry)) {
+                continue;
+            }
+            Long campaignId = entry.record().campaignId();
+            byShard.computeIfAbsent(shardRouter.shardFor(campaignId), shard -> new LinkedHashMap<>())
+                    .computeIfAbsent(campaignId, id -> new ArrayList<>()).add(entry);
+        }
+
+        byShard.forEach((shard, byCampaign) -> {
+            Map<Long, List<Donation>> donations = new LinkedHashMap<>();
+            byCampaign.forEach((campaignId, entries) ->
+                    donations.put(campaignId, entries.stream().map(DonationWriteBehind::donation).toList()));
+            Map<Long, RuntimeException> failures = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                Map<Long, RuntimeException> refused = donationService.applyGroupedDonations(donations);
+                // Refused records are kept before the checkpoint moves past them and their segment can be released
+                LocalDateTime now = LocalDateTime.now();
+                List<DonationDeadLetter> deadLetters = new ArrayList<>();
+                refused.forEach((campaignId, failure) -> byCampaign.get(campaignId)
+                        .forEach(entry -> deadLetters.add(deadLetter(entry, failure, now))));
+                deadLetterRepository.saveAll(deadLetters);
+                checkpointRepository.advance(journalId, last);
+                return refused;
+            }));
+            appliedSequences[shard] = last;
+
+            failures.forEach((campaignId, failure) -> {
+                int count = byCampaign.get(campaignId).size();
+                rejected.increment(count);
+                log.warn("Rejected {} journaled donations for campaign {}: {}", count, campaignId, failure.getMessage());
+            });
+        });
+    }
+
+    private static Donation donation(DonationJournal.Entry entry) {
+        DonationJournal.Record record = entry.record();
+        Donation donation = new Donation();
+        donation.setAmount(record.amount());
+        donation.setDonorName(record.donorName());
+        donation.setMessage(record.message());
+        donation.setDonatedAt(record.donatedAt());
+        return donation;
+    }
+
+    private DonationDeadLetter deadLetter(DonationJournal.Entry entry, RuntimeException failure, LocalDateTime now) {
+        DonationJournal.Record record = entry.record();
+        return new DonationDeadLetter(journalId, entry.sequence(), record.campaignId(), record.amount(),
+                record.donorName(), record.message(), record.donatedAt(), failure.getMessage(), now);
+    }
+
+    private long appliedOn(DonationJournal.Entry entry) {
+        return appliedSequences[shardRouter.shardFor(entry.record().campaignId())];
+    }
+}
@@ -0,0 +1,176 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.ShardRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Moves campaigns to the shard the ring now assigns them to, for use after a shard has been added.
+ *
+ * <p>Every shard is scanned for campaigns it no longer owns. Each one is moved on its own: the source row is
+ * locked, any partial copy left on the target by an earlier attempt is removed, the campaign, its donations
+ * and its stats and rollup rows are copied and committed on the target, and only then deleted from the source. A crash
+ * in between leaves the campaign on both shards and the next run repeats the move. Campaigns are read from
+ * their ring owner, so rows still waiting to move are not visible to the API; run this with writes paused.
+ */
+@Service
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final int COPY_BATCH = 500;
+
+    private final ShardRouter shardRouter;
+    private final DataSource dataSource;
+    private final CampaignFacetService campaignFacetService;
+
+    public ShardRebalancer(ShardRouter shardRouter, DataSource dataSource, CampaignFacetService campaignFacetService) {
+        this.shardRouter = shardRouter;
+        this.dataSource = dataSource;
+        this.campaignFacetService = campaignFacetService;
+    }
+
+    /**
+     * Moves every misplaced campaign and returns how many were moved.
+     */
+    public int rebalance() {
+        if (!shardRouter.isSharded()) {
+            return 0;
+        }
+        ShardRoutingDataSource shards = routingDataSource();
+        int moved = 0;
+        try {
+            for (int source = 0; source < shards.shardCount(); source++) {
+                for (Long campaignId : misplaced(shards.shard(source), source)) {
+                    int target = shardRouter.shardFor(campaignId);
+                    if (move(campaignId, shards.shard(source), shards.shard(target))) {
+                        moved++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Shard rebalancing failed after moving " + moved + " campaigns", e);
+        }
+        if (moved > 0) {
+            // Facet counters are kept per shard and the moved campaigns changed shard
+            campaignFacetService.rebuild();
+        }
+        log.info("Rebalanced {} campaigns across {} shards", moved, shards.shardCount());
+        return moved;
+    }
+
+    private List<Long> misplaced(DataSource shard, int index) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = shard.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM campaign");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                long id = rows.getLong(1);
+                if (shardRouter.shardFor(id) != index) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private boolean move(Long campaignId, DataSource source, DataSource target) throws SQLException {
+        try (Connection from = source.getConnection(); Connection to = target.getConnection()) {
+            from.setAutoCommit(false);
+            to.setAutoCommit(false);
+            try {
+                // Blocks donations to this campaign until the source copy is gone
+                try (PreparedStatement lock = from.prepareStatement("SELECT id FROM campaign WHERE id = ? FOR UPDATE")) {
+                    lock.setLong(1, campaignId);
+                    try (ResultSet row = lock.executeQuery()) {
+                        if (!row.next()) {
+                            from.rollback();
+                            return false;
+                        }
+                    }
+                }
+                deleteCampaign(to, campaignId);
+                copy(from, to, "campaign", "id", campaignId);
+                copy(from, to, "donation", "campaign_id", campaignId);
+                copy(from, to, "campaign_stats", "campaign_id", campaignId);
+                copy(from, to, "donation_rollups", "campaign_id", campaignId);
+                to.commit();
+                deleteCampaign(from, campaignId);
+                from.commit();
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                from.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Children first so the donation foreign key is never violated
+    private static void deleteCampaign(Connection connection, Long campaignId) throws SQLException {
+        delete(connection, "donation", "campaign_id", campaignId);
+        delete(connection, "campaign_stats", "campaign_id", campaignId);
+        delete(connection, "donation_rollups", "campaign_id", campaignId);
+        delete(connection, "campaign", "id", campaignId);
+    }
+
+    private static void delete(Connection connection, String table, String column, Long campaignId) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM " + table + " WHERE " + column + " = ?")) {
+            delete.setLong(1, campaignId);
+            delete.executeUpdate();
+        }
+    }
+
+    // Copies whole rows column by column, so the copy follows the schema without naming every column here
+    private static void copy(Connection from, Connection to, String table, String column, Long campaignId)
+            throws SQLException {
+        try (PreparedStatement select = from.prepareStatement("SELECT * FROM " + table + " WHERE " + column + " = ?")) {
+            select.setLong(1, campaignId);
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData meta = rows.getMetaData();
+                int columns = meta.getColumnCount();
+                StringJoiner names = new StringJoiner(", ");
+                StringJoiner params = new StringJoiner(", ");
+                for (int i = 1; i <= columns; i++) {
+                    names.add(meta.getColumnName(i));
+                    params.add("?");
+                }
+                String sql = "INSERT INTO " + table + " (" + names + ") VALUES (" + params + ")";
+                try (PreparedStatement insert = to.prepareStatement(sql)) {
+                    int batched = 0;
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+                        if (++batched % COPY_BATCH == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    if (batched % COPY_BATCH != 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+        }
+    }
+
+    private ShardRoutingDataSource routingDataSource() {
+        try {
+            return dataSource.unwrap(ShardRoutingDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Sharding is enabled but the DataSource does not route to shards", e);
+        }
+    }
+}
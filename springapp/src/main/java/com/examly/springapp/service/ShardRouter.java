@@ -0,0 +1,255 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.config.ReplicaRoutingDataSource;
+import com.examly.springapp.config.ShardIdAllocator;
+import com.examly.springapp.config.ShardRing;
+import com.examly.springapp.config.ShardRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on the shard that owns a campaign, or on every shard.
+ *
+ * <p>Without sharding there is a single shard and every method runs the work in the calling thread, inside
+ * whatever transaction the caller already has. With sharding the target shard is bound before the work
+ * starts so the transactions it opens connect there. Fan-out gives each shard its own new transaction,
+ * run in parallel by {@link #scatter} and one after another by {@link #forEachShard}.
+ */
+@Component
+public class ShardRouter {
+
+    private static final String CAMPAIGN_SEQUENCE = "campaign_seq";
+
+    private final ShardRing ring;
+    private final ShardIdAllocator idAllocator;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService scatterPool;
+
+    @Autowired
+    public ShardRouter(ObjectProvider<ShardRing> ring,
+                       ObjectProvider<ShardIdAllocator> idAllocator,
+                       ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this(ring.getIfAvailable(), idAllocator.getIfAvailable(), transactionManager.getIfAvailable());
+    }
+
+    private ShardRouter(ShardRing ring, ShardIdAllocator idAllocator, PlatformTransactionManager transactionManager) {
+        this.ring = ring == null ? ShardRing.single() : ring;
+        this.idAllocator = idAllocator;
+        if (isSharded()) {
+            this.readTransaction = newTransaction(transactionManager, true);
+            this.writeTransaction = newTransaction(transactionManager, false);
+            this.scatterPool = Executors.newFixedThreadPool(this.ring.size() * 2, runnable -> {
+                Thread thread = new Thread(runnable, "shard-scatter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.readTransaction = null;
+            this.writeTransaction = null;
+            this.scatterPool = null;
+        }
+    }
+
+    static ShardRouter unsharded() {
+        return new ShardRouter((ShardRing) null, null, null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return idAllocator != null;
+    }
+
+    public int shardCount() {
+        return ring.size();
+    }
+
+    public int shardFor(Long campaignId) {
+        return ring.shardFor(campaignId);
+    }
+
+    public ShardRing ring() {
+        return ring;
+    }
+
+    public <T> T onCampaign(Long campaignId, Supplier<T> work) {
+        return onShard(shardFor(campaignId), work);
+    }
+
+    public void onCampaign(Long campaignId, Runnable work) {
+        onCampaign(campaignId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer bound = ShardRoutingDataSource.currentShard();
+        int current = bound == null ? 0 : bound;
+        if (current != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The open transaction already holds a connection to another shard and would silently be reused
+            throw new IllegalStateException("Cannot route to shard " + shard + " inside a transaction on shard " + current);
+        }
+        return ShardRoutingDataSource.callOn(shard, work);
+    }
+
+    /**
+     * Runs the work on one shard in a new read-write transaction, whatever transaction the caller is in.
+     */
+    public <T> T writeOn(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        return ShardRoutingDataSource.callOn(shard, () -> writeTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs a campaign insert on the shard that will own it: the id is drawn first, the shard picked from it,
+     * and the id generator hands the same id to the insert.
+     */
+    public <T> T onNewCampaign(Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        long id = idAllocator.reserve(CAMPAIGN_SEQUENCE);
+        try {
+            return onCampaign(id, work);
+        } finally {
+            idAllocator.release(CAMPAIGN_SEQUENCE);
+        }
+    }
+
+    /**
+     * Inserts a group of new campaigns with one write transaction per owning shard: ids are drawn for all of
+     * them first and the campaigns grouped by the shard their id hashes to. {@code insert} must persist a
+     * group in list order, since the id generator hands out the group's ids in that order. A shard whose
+     * insert throws is reported to {@code failed} with its campaigns; the other shards still commit. Without
+     * sharding the whole group is inserted in the caller's transaction.
+     */
+    public <T> void onNewCampaigns(List<T> campaigns, Consumer<List<T>> insert,
+                                   BiConsumer<List<T>, RuntimeException> failed) {
+        if (!isSharded()) {
+            try {
+                insert.accept(campaigns);
+            } catch (RuntimeException e) {
+                failed.accept(campaigns, e);
+            }
+            return;
+        }
+        List<Long> ids = idAllocator.allocate(CAMPAIGN_SEQUENCE, campaigns.size());
+        Map<Integer, List<T>> byShard = new TreeMap<>();
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        for (int i = 0; i < campaigns.size(); i++) {
+            int shard = shardFor(ids.get(i));
+            byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(campaigns.get(i));
+            idsByShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(ids.get(i));
+        }
+        byShard.forEach((shard, group) -> {
+            try {
+                writeOn(shard, () -> {
+                    idAllocator.reserve(CAMPAIGN_SEQUENCE, idsByShard.get(shard));
+                    try {
+                        insert.accept(group);
+                    } finally {
+                        idAllocator.release(CAMPAIGN_SEQUENCE);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                failed.accept(group, e);
+            }
+        });
+    }
+
+    /**
+     * Runs read-only work on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(Supplier<T> work) {
+        if (!isSharded()) {
+            return List.of(work.get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(ring.size());
+        // Carry the caller's replica permission over to the pool threads
+        Long lastWrite = ReplicaRoutingDataSource.lastWrite();
+        for (int shard = 0; shard < ring.size(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> ReplicaRoutingDataSource.withReplicaReads(lastWrite, () -> ShardRoutingDataSource.callOn(target,
+                            () -> readTransaction.execute(status -> work.get()))),
+                    scatterPool));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            futures.forEach(future -> results.add(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Runs the work once per shard in the calling thread, each time in a new transaction on that shard.
+     */
+    public void forEachShard(boolean readOnly, Runnable work) {
+        if (!isSharded()) {
+            work.run();
+            return;
+        }
+        TransactionTemplate transaction = readOnly ? readTransaction : writeTransaction;
+        for (int shard = 0; shard < ring.size(); shard++) {
+            ShardRoutingDataSource.callOn(shard, () -> transaction.execute(status -> {
+                work.run();
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Splits per-campaign values by owning shard, keeping each shard's campaigns in their original order.
+     */
+    public <V> Map<Integer, Map<Long, V>> partition(Map<Long, V> byCampaign) {
+        Map<Integer, Map<Long, V>> byShard = new LinkedHashMap<>();
+        byCampaign.forEach((campaignId, value) ->
+                byShard.computeIfAbsent(shardFor(campaignId), shard -> new LinkedHashMap<>()).put(campaignId, value));
+        return byShard;
+    }
+
+    private static TransactionTemplate newTransaction(PlatformTransactionManager transactionManager, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        // Never join the caller's transaction: it is bound to a different shard's connection
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+}
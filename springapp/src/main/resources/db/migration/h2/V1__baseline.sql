@@ -0,0 +1,81 @@
+-- H2 counterpart of mysql/V1__baseline.sql, for the embedded databases of tests and benchmarks. Keep the two
+-- in step: every migration is added to both directories under the same version.
+
+create table campaign (
+    id bigint not null,
+    category varchar(255),
+    created_at timestamp(6),
+    creator_name varchar(255),
+    current_amount numeric(38,2) not null,
+    deadline date,
+    description varchar(1000),
+    goal_amount numeric(38,2),
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED'),
+    title varchar(255),
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+create index idx_campaign_category_id on campaign (category, id);
+create index idx_campaign_category_status_id on campaign (category, status, id);
+create index idx_campaign_status_id on campaign (status, id);
+create index idx_campaign_status_deadline_id on campaign (status, deadline, id);
+create index idx_campaign_deadline_id on campaign (deadline, id);
+create index idx_campaign_created_at_id on campaign (created_at, id);
+
+create sequence campaign_seq start with 1 increment by 50;
+
+create table donation (
+    id bigint not null,
+    amount numeric(38,2),
+    donated_at timestamp(6),
+    donor_name varchar(255),
+    message varchar(255),
+    campaign_id bigint not null,
+    primary key (id)
+);
+
+create index idx_donation_campaign_donated_at on donation (campaign_id, donated_at);
+create index idx_donation_donated_at on donation (donated_at);
+alter table donation add constraint fk_donation_campaign foreign key (campaign_id) references campaign (id);
+
+create sequence donation_seq start with 1 increment by 50;
+
+create table campaign_stats (
+    campaign_id bigint not null,
+    donation_count bigint not null,
+    max_amount numeric(38,2) not null,
+    total_amount numeric(38,2) not null,
+    primary key (campaign_id)
+);
+
+create table campaign_facet_counts (
+    category varchar(255) not null,
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED') not null,
+    campaign_count bigint not null,
+    primary key (category, status)
+);
+
+create table donation_journal_checkpoints (
+    journal_id varchar(255) not null,
+    applied_sequence bigint not null,
+    primary key (journal_id)
+);
+
+create table donation_rollups (
+    campaign_id bigint not null,
+    granularity enum ('MINUTE','HOUR','DAY') not null,
+    bucket bigint not null,
+    donation_count bigint not null,
+    total_amount numeric(38,2) not null,
+    primary key (bucket, campaign_id, granularity)
+);
+
+create index idx_rollup_series on donation_rollups (campaign_id, granularity, bucket);
+create index idx_rollup_bucket on donation_rollups (granularity, bucket);
+
+create table donation_rollup_watermarks (
+    name varchar(255) not null,
+    compacted_until bigint not null,
+    primary key (name)
+);
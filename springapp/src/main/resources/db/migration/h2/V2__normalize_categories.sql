@@ -0,0 +1,17 @@
+-- H2 counterpart of mysql/V2__normalize_categories.sql.
+
+update campaign
+set category = trim(regexp_replace(category, '\s+', ' '))
+where category is not null;
+
+update campaign c
+set category = (select min(o.category) from campaign o where lower(o.category) = lower(c.category))
+where category is not null;
+
+delete from campaign_facet_counts;
+
+insert into campaign_facet_counts (category, status, campaign_count)
+select category, status, count(*)
+from campaign
+where category is not null and status is not null
+group by category, status;
@@ -0,0 +1,7 @@
+-- H2 counterpart of mysql/V3__shard_id_blocks.sql.
+
+create table shard_id_blocks (
+    sequence_name varchar(64) not null,
+    next_val bigint not null,
+    primary key (sequence_name)
+);
@@ -0,0 +1,16 @@
+-- H2 counterpart of mysql/V4__donation_dead_letters.sql.
+
+create table donation_dead_letters (
+    journal_id varchar(255) not null,
+    journal_sequence bigint not null,
+    campaign_id bigint not null,
+    amount numeric(38,2) not null,
+    donor_name varchar(255),
+    message varchar(255),
+    donated_at timestamp(6),
+    reason varchar(255),
+    refused_at timestamp(6) not null,
+    primary key (journal_id, journal_sequence)
+);
+
+create index idx_dead_letter_campaign on donation_dead_letters (campaign_id);
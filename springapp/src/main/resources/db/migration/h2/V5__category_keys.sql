@@ -0,0 +1,26 @@
+-- H2 counterpart of mysql/V5__category_keys.sql.
+
+alter table campaign add column category_key varchar(255);
+
+update campaign set category_key = lower(category) where category is not null;
+
+drop index idx_campaign_category_id;
+drop index idx_campaign_category_status_id;
+create index idx_campaign_category_key_id on campaign (category_key, id);
+create index idx_campaign_category_key_status_id on campaign (category_key, status, id);
+
+drop table campaign_facet_counts;
+
+create table campaign_facet_counts (
+    category_key varchar(255) not null,
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED') not null,
+    category varchar(255) not null,
+    campaign_count bigint not null,
+    primary key (category_key, status)
+);
+
+insert into campaign_facet_counts (category_key, status, category, campaign_count)
+select category_key, status, min(category), count(*)
+from campaign
+where category_key is not null and status is not null
+group by category_key, status;
@@ -0,0 +1,85 @@
+-- Schema as Hibernate generated it with ddl-auto=create in the release before migrations. Only a database last
+-- started by that release may be baselined at this version instead of having it applied, as a one-off (see
+-- application.properties); older schemas lack columns and tables and have to be dropped first.
+
+create table campaign (
+    id bigint not null,
+    category varchar(255),
+    created_at datetime(6),
+    creator_name varchar(255),
+    current_amount decimal(38,2) not null,
+    deadline date,
+    description varchar(1000),
+    goal_amount decimal(38,2),
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED'),
+    title varchar(255),
+    version bigint default 0 not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_campaign_category_id on campaign (category, id);
+create index idx_campaign_category_status_id on campaign (category, status, id);
+create index idx_campaign_status_id on campaign (status, id);
+create index idx_campaign_status_deadline_id on campaign (status, deadline, id);
+create index idx_campaign_deadline_id on campaign (deadline, id);
+create index idx_campaign_created_at_id on campaign (created_at, id);
+
+-- MySQL has no sequences; Hibernate emulates the pooled campaign_seq and donation_seq with one-row tables
+create table campaign_seq (next_val bigint) engine=InnoDB;
+insert into campaign_seq values (1);
+
+create table donation (
+    id bigint not null,
+    amount decimal(38,2),
+    donated_at datetime(6),
+    donor_name varchar(255),
+    message varchar(255),
+    campaign_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_donation_campaign_donated_at on donation (campaign_id, donated_at);
+create index idx_donation_donated_at on donation (donated_at);
+alter table donation add constraint fk_donation_campaign foreign key (campaign_id) references campaign (id);
+
+create table donation_seq (next_val bigint) engine=InnoDB;
+insert into donation_seq values (1);
+
+create table campaign_stats (
+    campaign_id bigint not null,
+    donation_count bigint not null,
+    max_amount decimal(38,2) not null,
+    total_amount decimal(38,2) not null,
+    primary key (campaign_id)
+) engine=InnoDB;
+
+create table campaign_facet_counts (
+    category varchar(255) not null,
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED') not null,
+    campaign_count bigint not null,
+    primary key (category, status)
+) engine=InnoDB;
+
+create table donation_journal_checkpoints (
+    journal_id varchar(255) not null,
+    applied_sequence bigint not null,
+    primary key (journal_id)
+) engine=InnoDB;
+
+create table donation_rollups (
+    campaign_id bigint not null,
+    granularity enum ('MINUTE','HOUR','DAY') not null,
+    bucket bigint not null,
+    donation_count bigint not null,
+    total_amount decimal(38,2) not null,
+    primary key (bucket, campaign_id, granularity)
+) engine=InnoDB;
+
+create index idx_rollup_series on donation_rollups (campaign_id, granularity, bucket);
+create index idx_rollup_bucket on donation_rollups (granularity, bucket);
+
+create table donation_rollup_watermarks (
+    name varchar(255) not null,
+    compacted_until bigint not null,
+    primary key (name)
+) engine=InnoDB;
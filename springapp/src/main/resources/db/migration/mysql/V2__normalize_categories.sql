@@ -0,0 +1,22 @@
+-- Categories are compared with whitespace collapsed and case folded, and every campaign of a category is stored
+-- under one spelling. Rows written earlier were stored as typed, or title-cased word by word; bring each
+-- category down to one of the spellings in use and recount the facets from the result.
+
+update campaign
+set category = trim(regexp_replace(category, '[[:space:]]+', ' '))
+where category is not null;
+
+update campaign c
+    join (select lower(category) as folded, min(category) as spelling
+          from campaign
+          where category is not null
+          group by lower(category)) s on lower(c.category) = s.folded
+set c.category = s.spelling;
+
+delete from campaign_facet_counts;
+
+insert into campaign_facet_counts (category, status, campaign_count)
+select category, status, count(*)
+from campaign
+where category is not null and status is not null
+group by category, status;
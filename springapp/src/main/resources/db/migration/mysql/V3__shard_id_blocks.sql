@@ -0,0 +1,7 @@
+-- Id blocks handed out by the cluster-wide shard id allocator. Only shard 0's copy is used, but every shard
+-- carries the full schema.
+create table shard_id_blocks (
+    sequence_name varchar(64) not null,
+    next_val bigint not null,
+    primary key (sequence_name)
+) engine=InnoDB;
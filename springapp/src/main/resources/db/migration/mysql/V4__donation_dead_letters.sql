@@ -0,0 +1,16 @@
+-- Journaled donations refused when the write-behind drainer applied them, kept with every field of the journal
+-- record so they survive the segment being released.
+create table donation_dead_letters (
+    journal_id varchar(255) not null,
+    journal_sequence bigint not null,
+    campaign_id bigint not null,
+    amount numeric(38,2) not null,
+    donor_name varchar(255),
+    message varchar(255),
+    donated_at datetime(6),
+    reason varchar(255),
+    refused_at datetime(6) not null,
+    primary key (journal_id, journal_sequence)
+) engine=InnoDB;
+
+create index idx_dead_letter_campaign on donation_dead_letters (campaign_id);
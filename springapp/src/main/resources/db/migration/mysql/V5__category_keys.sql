@@ -0,0 +1,29 @@
+-- Categories are matched on a folded key stored with each campaign rather than on one shared spelling: the
+-- campaign keeps the spelling it was written with, and listings filter and facets count by category_key.
+-- Rows are already whitespace-collapsed by V2, so folding the case is all that is left.
+
+alter table campaign add column category_key varchar(255);
+
+update campaign set category_key = lower(category) where category is not null;
+
+drop index idx_campaign_category_id on campaign;
+drop index idx_campaign_category_status_id on campaign;
+create index idx_campaign_category_key_id on campaign (category_key, id);
+create index idx_campaign_category_key_status_id on campaign (category_key, status, id);
+
+-- Counters are keyed the same way and keep a spelling to report the category under
+drop table campaign_facet_counts;
+
+create table campaign_facet_counts (
+    category_key varchar(255) not null,
+    status enum ('ACTIVE','COMPLETED','EXPIRED','CANCELLED') not null,
+    category varchar(255) not null,
+    campaign_count bigint not null,
+    primary key (category_key, status)
+) engine=InnoDB;
+
+insert into campaign_facet_counts (category_key, status, category, campaign_count)
+select category_key, status, min(category), count(*)
+from campaign
+where category_key is not null and status is not null
+group by category_key, status;
@@ -0,0 +1,117 @@
+package com.examly.springapp;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.DonationService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The context only starts if Hibernate validates the migrated schema against the entity mappings
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private DonationService donationService;
+
+    @Test
+    void testMigratedSchemaIsCurrentAndNotReapplied() {
+        assertEquals("5", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.migrate().migrationsExecuted);
+    }
+
+    @Test
+    void testSchemaCreatedBeforeMigrationsIsRefused() throws SQLException {
+        String url = "jdbc:h2:mem:unversioned;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        // Campaign table as ddl-auto=create generated it before campaigns had a version column
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table campaign (id bigint generated by default as identity, title varchar(255),"
+                    + " current_amount numeric(38,2), primary key (id))");
+        }
+        Flyway unversioned = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations(flyway.getConfiguration().getLocations())
+                .baselineOnMigrate(flyway.getConfiguration().isBaselineOnMigrate())
+                .load();
+
+        assertThrows(FlywayException.class, unversioned::migrate);
+        assertNull(unversioned.info().current());
+    }
+
+    @Test
+    void testExistingCategoriesAreNormalized() throws SQLException {
+        String url = "jdbc:h2:mem:categories;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        Flyway versioned = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations(flyway.getConfiguration().getLocations())
+                .target("1")
+                .load();
+        versioned.migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            long id = 1;
+            for (String category : new String[]{"AI Research", " ai   research", "Ai Research", "Medical"}) {
+                statement.execute("insert into campaign (id, category, current_amount, status, version) values ("
+                        + id++ + ", '" + category + "', 0, 'ACTIVE', 0)");
+            }
+        }
+
+        Flyway.configure().dataSource(url, "sa", "").locations(flyway.getConfiguration().getLocations()).load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            ResultSet categories = statement.executeQuery(
+                    "select category, campaign_count from campaign_facet_counts order by category");
+            assertTrue(categories.next());
+            assertEquals("AI Research", categories.getString(1));
+            assertEquals(3, categories.getLong(2));
+            assertTrue(categories.next());
+            assertEquals("Medical", categories.getString(1));
+            assertFalse(categories.next());
+
+            ResultSet keys = statement.executeQuery("select count(*) from campaign where category_key = 'ai research'");
+            assertTrue(keys.next());
+            assertEquals(3, keys.getLong(1));
+        }
+    }
+
+    @Test
+    void testMigratedSchemaStoresCampaignsAndDonations() {
+        Campaign c = new Campaign();
+        c.setTitle("Migrated Campaign");
+        c.setDescription("Stored in a schema built by migrations.");
+        c.setGoalAmount(new BigDecimal("500.00"));
+        c.setCategory("Technology");
+        c.setCreatorName("Rita");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        Campaign saved = campaignService.createCampaign(c);
+
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("75.00"));
+        d.setDonorName("Sam");
+        donationService.makeDonation(saved.getId(), d);
+
+        assertEquals(1, donationService.getDonationsForCampaign(saved.getId()).size());
+    }
+}
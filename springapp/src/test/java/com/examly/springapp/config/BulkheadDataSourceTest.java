@@ -0,0 +1,63 @@
+package com.examly.springapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+
+    private DataSource pool() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(i -> mock(Connection.class));
+        return pool;
+    }
+
+    @Test
+    void testPermitsAreCappedAndReturnedOnClose() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool(), 2, 50);
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertEquals(0, bulkhead.availablePermits());
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, bulkhead.availablePermits());
+        bulkhead.getConnection().close();
+        second.close();
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testPermitReturnedWhenPoolFails() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, 50);
+
+        assertThrows(SQLException.class, bulkhead::getConnection);
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void testUnwrapReachesPhysicalConnection() throws Exception {
+        Connection physical = mock(Connection.class);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(physical);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, 50);
+
+        try (Connection connection = bulkhead.getConnection()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            connection.commit();
+            verify(physical).commit();
+        }
+        verify(physical).close();
+        assertEquals(1, bulkhead.availablePermits());
+    }
+}
@@ -0,0 +1,186 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaTest.PRIMARY_URL,
+        "campaigns.replicas.enabled=true",
+        "campaigns.replicas.lag-probe=simulated",
+        "campaigns.replicas.max-lag-ms=1000",
+        "campaigns.replicas.read-your-writes-ms=60000",
+        "campaigns.replicas.check-interval-ms=600000",
+        "campaigns.replicas.nodes[0].name=replica-1",
+        "campaigns.replicas.nodes[0].url=" + ReadReplicaTest.REPLICA_URL,
+        "campaigns.replicas.nodes[0].username=sa",
+        "campaigns.replicas.nodes[0].password="})
+@AutoConfigureMockMvc
+class ReadReplicaTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:rw_primary;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    static final String REPLICA_URL = "jdbc:h2:mem:rw_replica;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SimulatedReplicaLag replicaLag;
+    @Autowired
+    private ReplicaConfig.ReplicaMonitor replicaMonitor;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private CampaignCache campaignCache;
+
+    private long campaignId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicaLag.reset();
+        replicaMonitor.check();
+        Campaign c = new Campaign();
+        c.setTitle("Replicated Campaign");
+        c.setDescription("A campaign read from a replica.");
+        c.setGoalAmount(new BigDecimal("1000.00"));
+        c.setCategory("Community");
+        c.setCreatorName("Ann");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        campaignId = campaignRepository.save(c).getId();
+        replicate();
+    }
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+        campaignCache.clear();
+    }
+
+    // Stands in for replication: the replica becomes a copy of the primary as of now
+    void replicate() throws Exception {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    Cookie donate(String amount) throws Exception {
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal(amount));
+        d.setDonorName("Bob");
+        MvcResult result = mockMvc.perform(post("/api/campaigns/" + campaignId + "/donations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReplicaRoutingInterceptor.LAST_WRITE_COOKIE))
+                .andReturn();
+        return result.getResponse().getCookie(ReplicaRoutingInterceptor.LAST_WRITE_COOKIE);
+    }
+
+    long replicaReads() {
+        return replicaMonitor.routing().replicaReads().get("replica-1");
+    }
+
+    @Test
+    void testReadsGoToTheReplicaButTheDonorSeesTheirOwnDonation() throws Exception {
+        Cookie lastWrite = donate("25.00");
+
+        long before = replicaReads();
+        // Anyone else reads the replica, which has not caught up yet
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertTrue(replicaReads() > before);
+
+        // The donor's cookie keeps their reads on the primary
+        long afterReplica = replicaReads();
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].donorName", is("Bob")));
+        assertEquals(afterReplica, replicaReads());
+
+        replicate();
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/campaigns").param("category", "Community"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentAmount", is(25.0)));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToThePrimary() throws Exception {
+        donate("10.00");
+        replicaLag.setLag("replica-1", Duration.ofSeconds(5));
+        replicaMonitor.check();
+
+        long before = replicaReads();
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        assertEquals(before, replicaReads());
+
+        replicaLag.setLag("replica-1", Duration.ofMillis(200));
+        replicaMonitor.check();
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertEquals(before + 1, replicaReads());
+    }
+
+    @Test
+    void testFailedReplicaFallsBackToThePrimary() throws Exception {
+        donate("10.00");
+        replicaLag.fail("replica-1");
+        replicaMonitor.check();
+        assertEquals(0, replicaMonitor.routing().healthyReplicas());
+
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        replicaLag.reset();
+        replicaMonitor.check();
+        assertEquals(1, replicaMonitor.routing().healthyReplicas());
+    }
+}
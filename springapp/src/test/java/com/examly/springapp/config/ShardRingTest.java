@@ -0,0 +1,46 @@
+package com.examly.springapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRingTest {
+
+    private static final int IDS = 30_000;
+
+    @Test
+    void testIdsSpreadEvenlyOverShards() {
+        ShardRing ring = new ShardRing(List.of("shard0", "shard1", "shard2"));
+        int[] counts = new int[ring.size()];
+        for (long id = 1; id <= IDS; id++) {
+            counts[ring.shardFor(id)]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - IDS / 3) < IDS / 10, "unbalanced shard with " + count + " ids");
+        }
+    }
+
+    @Test
+    void testAddingAShardOnlyMovesIdsOntoIt() {
+        ShardRing before = new ShardRing(List.of("shard0", "shard1", "shard2"));
+        ShardRing after = new ShardRing(List.of("shard0", "shard1", "shard2", "shard3"));
+        int moved = 0;
+        for (long id = 1; id <= IDS; id++) {
+            int owner = after.shardFor(id);
+            if (owner != before.shardFor(id)) {
+                assertEquals(3, owner);
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - IDS / 4) < IDS / 10, moved + " ids moved");
+    }
+
+    @Test
+    void testSingleShardOwnsEverything() {
+        ShardRing ring = ShardRing.single();
+        assertEquals(0, ring.shardFor(42));
+        assertEquals(0, ring.shardFor(Long.MAX_VALUE));
+    }
+}
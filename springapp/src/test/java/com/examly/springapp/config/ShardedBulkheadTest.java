@@ -0,0 +1,53 @@
+package com.examly.springapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// With sharding every shard pool gets a bulkhead of its own, not one bulkhead over the routing DataSource
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.url=jdbc:h2:mem:bulkhead_a;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.open-in-view=false",
+        "campaigns.sharding.enabled=true",
+        "campaigns.sharding.shards[0].name=bulkhead-b",
+        "campaigns.sharding.shards[0].url=jdbc:h2:mem:bulkhead_b;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "campaigns.sharding.shards[0].username=sa",
+        "campaigns.sharding.shards[0].password="})
+class ShardedBulkheadTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testEveryShardPoolHasItsOwnBulkhead() throws SQLException {
+        ShardRoutingDataSource routing = assertInstanceOf(ShardRoutingDataSource.class, dataSource);
+        BulkheadDataSource first = assertInstanceOf(BulkheadDataSource.class, routing.shard(0));
+        BulkheadDataSource second = assertInstanceOf(BulkheadDataSource.class, routing.shard(1));
+        assertEquals(2, ThreadingConfig.bulkheads(dataSource).size());
+
+        // Holding every connection of one shard leaves the other shard's permits untouched
+        try (Connection a = ShardRoutingDataSource.callOn(0, this::connection);
+             Connection b = ShardRoutingDataSource.callOn(0, this::connection);
+             Connection c = ShardRoutingDataSource.callOn(0, this::connection)) {
+            assertEquals(0, first.availablePermits());
+            assertEquals(3, second.availablePermits());
+        }
+        assertEquals(3, first.availablePermits());
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
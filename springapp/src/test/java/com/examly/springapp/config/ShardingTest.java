@@ -0,0 +1,271 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignFacetCountRepository;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.CampaignStatsRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.ShardRebalancer;
+import com.examly.springapp.service.ShardRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard_a;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.open-in-view=false",
+        "campaigns.sharding.enabled=true",
+        "campaigns.sharding.primary-name=shard-a",
+        "campaigns.sharding.shards[0].name=shard-b",
+        "campaigns.sharding.shards[0].url=jdbc:h2:mem:shard_b;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "campaigns.sharding.shards[0].username=sa",
+        "campaigns.sharding.shards[0].password=",
+        "campaigns.sharding.shards[1].name=shard-c",
+        "campaigns.sharding.shards[1].url=jdbc:h2:mem:shard_c;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "campaigns.sharding.shards[1].username=sa",
+        "campaigns.sharding.shards[1].password="})
+@AutoConfigureMockMvc
+class ShardingTest {
+
+    private static final int CAMPAIGNS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ShardRouter shardRouter;
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private CampaignCache campaignCache;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private CampaignStatsRepository campaignStatsRepository;
+    @Autowired
+    private CampaignFacetCountRepository facetCountRepository;
+
+    @AfterEach
+    void cleanup() {
+        shardRouter.forEachShard(false, () -> {
+            donationRepository.deleteAllInBatch();
+            campaignStatsRepository.deleteAllInBatch();
+            campaignRepository.deleteAllInBatch();
+            facetCountRepository.deleteAllInBatch();
+        });
+        campaignCache.clear();
+    }
+
+    Campaign campaign(String category) {
+        Campaign c = new Campaign();
+        c.setTitle("Sharded Campaign");
+        c.setDescription("A campaign placed on a shard by its id.");
+        c.setGoalAmount(new BigDecimal("5000.00"));
+        c.setCategory(category);
+        c.setCreatorName("Ann");
+        c.setDeadline(LocalDate.now().plusDays(30));
+        return c;
+    }
+
+    long create(String category) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/campaigns")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(campaign(category))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    void donate(long campaignId, String amount) throws Exception {
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal(amount));
+        d.setDonorName("Bob");
+        mockMvc.perform(post("/api/campaigns/" + campaignId + "/donations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated());
+    }
+
+    JdbcTemplate shard(int shard) throws Exception {
+        return new JdbcTemplate(dataSource.unwrap(ShardRoutingDataSource.class).shard(shard));
+    }
+
+    List<Long> ids(int shard, String sql) throws Exception {
+        return shard(shard).queryForList(sql, Long.class);
+    }
+
+    @Test
+    void testCampaignsAndDonationsLiveOnTheOwningShard() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            long id = create("Community");
+            donate(id, "10.00");
+            donate(id, "15.00");
+            created.add(id);
+        }
+
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            List<Long> campaigns = ids(shard, "SELECT id FROM campaign");
+            assertFalse(campaigns.isEmpty(), "shard " + shard + " holds no campaigns");
+            for (Long id : campaigns) {
+                assertEquals(shard, shardRouter.shardFor(id));
+            }
+            for (Long campaignId : ids(shard, "SELECT campaign_id FROM donation")) {
+                assertEquals(shard, shardRouter.shardFor(campaignId));
+            }
+            assertEquals(campaigns.size() * 2, ids(shard, "SELECT id FROM donation").size());
+            total += campaigns.size();
+        }
+        assertEquals(CAMPAIGNS, total);
+
+        long sample = created.get(7);
+        mockMvc.perform(get("/api/campaigns/" + sample))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentAmount", is(25.0)));
+        mockMvc.perform(get("/api/campaigns/" + sample + "/donations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/campaigns/" + sample + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.donationCount", is(2)));
+    }
+
+    @Test
+    void testBulkImportPlacesEachCampaignOnItsShard() throws Exception {
+        StringBuilder catalog = new StringBuilder();
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            catalog.append(objectMapper.writeValueAsString(campaign("Technology"))).append('\n');
+        }
+        mockMvc.perform(post("/api/campaigns/import").param("format", "ndjson").content(catalog.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(CAMPAIGNS)))
+                .andExpect(jsonPath("$.failed", is(0)));
+
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            List<Long> campaigns = ids(shard, "SELECT id FROM campaign");
+            assertFalse(campaigns.isEmpty(), "shard " + shard + " holds no campaigns");
+            for (Long id : campaigns) {
+                assertEquals(shard, shardRouter.shardFor(id));
+            }
+            total += campaigns.size();
+        }
+        assertEquals(CAMPAIGNS, total);
+        mockMvc.perform(get("/api/campaigns/facets"))
+                .andExpect(jsonPath("$.categories.Technology", is(CAMPAIGNS)));
+    }
+
+    @Test
+    void testListingMergesEveryShardInOrder() throws Exception {
+        List<Long> created = new ArrayList<>();
+        List<Long> education = new ArrayList<>();
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            String category = i % 3 == 0 ? "Education" : "Animals";
+            long id = create(category);
+            created.add(id);
+            if (category.equals("Education")) {
+                education.add(id);
+            }
+        }
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult page = mockMvc.perform(get("/api/campaigns").param("limit", "7")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            for (JsonNode row : objectMapper.readTree(page.getResponse().getContentAsString())) {
+                listed.add(row.get("id").asLong());
+            }
+            cursor = page.getResponse().getHeader("X-Next-Cursor");
+        } while (cursor != null);
+        assertEquals(created, listed);
+
+        mockMvc.perform(get("/api/campaigns").param("category", "Education").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(education.size())))
+                .andExpect(jsonPath("$[*].category", everyItem(is("Education"))));
+        mockMvc.perform(get("/api/campaigns/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories.Education", is(education.size())))
+                .andExpect(jsonPath("$.categories.Animals", is(CAMPAIGNS - education.size())));
+        assertEquals(created, campaignService.getAllCampaigns().stream().map(Campaign::getId).toList());
+    }
+
+    @Test
+    void testRebalancerMovesCampaignsOntoAnAddedShard() throws Exception {
+        // Place campaigns where a ring without shard-c put them, as if that shard had just been added
+        ShardRing before = new ShardRing(List.of("shard-a", "shard-b"));
+        List<Long> misplaced = new ArrayList<>();
+        for (long id = 1_000_000; misplaced.size() < 10; id++) {
+            if (shardRouter.shardFor(id) == 2) {
+                misplaced.add(id);
+                insertCampaign(shard(before.shardFor(id)), id);
+            }
+        }
+        // A copy left behind by an interrupted earlier run
+        insertCampaign(shard(2), misplaced.get(0));
+
+        mockMvc.perform(post("/api/admin/shards/rebalance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.campaigns", is(10)));
+
+        assertTrue(ids(0, "SELECT id FROM campaign").isEmpty());
+        assertTrue(ids(1, "SELECT id FROM campaign").isEmpty());
+        assertEquals(misplaced, ids(2, "SELECT id FROM campaign ORDER BY id"));
+        assertEquals(misplaced, ids(2, "SELECT campaign_id FROM donation ORDER BY campaign_id"));
+        assertEquals(misplaced, ids(2, "SELECT campaign_id FROM campaign_stats ORDER BY campaign_id"));
+
+        mockMvc.perform(get("/api/campaigns/" + misplaced.get(3) + "/donations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].donorName", is("Moved Donor")));
+        mockMvc.perform(get("/api/campaigns/facets"))
+                .andExpect(jsonPath("$.categories.Community", is(10)));
+        assertEquals(0, shardRebalancer.rebalance());
+    }
+
+    private static void insertCampaign(JdbcTemplate shard, long id) {
+        shard.update("INSERT INTO campaign (id, title, description, goal_amount, current_amount, category, " +
+                        "category_key, creator_name, deadline, created_at, status) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE')",
+                id, "Moved Campaign", "A campaign that has to change shard.", new BigDecimal("900.00"),
+                new BigDecimal("20.00"), "Community", "community", "Ann", LocalDate.now().plusDays(5),
+                LocalDateTime.now());
+        shard.update("INSERT INTO donation (id, amount, donor_name, message, donated_at, campaign_id) " +
+                "VALUES (?, ?, 'Moved Donor', NULL, ?, ?)", id, new BigDecimal("20.00"), LocalDateTime.now(), id);
+        shard.update("INSERT INTO campaign_stats (campaign_id, donation_count, total_amount, max_amount) " +
+                "VALUES (?, 1, ?, ?)", id, new BigDecimal("20.00"), new BigDecimal("20.00"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The property moves request threads to virtual threads and wraps the DataSource in the bulkhead
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=4"})
+class ThreadingConfigTest {
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @AfterEach
+    void cleanup() {
+        campaignRepository.deleteAll();
+    }
+
+    @Test
+    void testDataSourceIsBulkheadedToPoolSize() {
+        BulkheadDataSource bulkhead = assertInstanceOf(BulkheadDataSource.class, dataSource);
+
+        Campaign c = new Campaign();
+        c.setTitle("Bulkhead Campaign");
+        c.setDescription("Saved through the bulkheaded data source.");
+        c.setGoalAmount(new BigDecimal("500.00"));
+        c.setCategory("Community");
+        c.setCreatorName("Ann");
+        c.setDeadline(LocalDate.now().plusDays(5));
+        campaignRepository.save(c);
+
+        assertEquals(1, campaignRepository.count());
+        assertEquals(4, bulkhead.availablePermits());
+    }
+}
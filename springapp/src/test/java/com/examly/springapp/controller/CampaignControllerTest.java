@@ -1,9 +1,12 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.event.CampaignChangedEvent;
 import com.examly.springapp.model.Campaign;
 import com.examly.springapp.model.CampaignStatus;
 import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.service.CampaignSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,11 +14,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -29,6 +36,8 @@ class CampaignControllerTest {
     private ObjectMapper objectMapper;
     @Autowired
     private CampaignRepository campaignRepository;
+    @Autowired
+    private CampaignSearchIndex campaignSearchIndex;
 
     Campaign validCampaign() {
         Campaign c = new Campaign();
@@ -89,4 +98,134 @@ class CampaignControllerTest {
         mockMvc.perform(get("/api/campaigns/111111"))
             .andExpect(status().isNotFound());
     }
+
+    @Test
+    void controller_testKeysetPagingByDeadline() throws Exception {
+        for (int i = 5; i >= 1; i--) {
+            Campaign c = validCampaign();
+            c.setDeadline(LocalDate.now().plusDays(i % 3 + 1)); // duplicate deadlines exercise the id tie-break
+            campaignRepository.save(c);
+        }
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = "/api/campaigns?sort=deadline&limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            MvcResult result = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(2))))
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andReturn();
+            seen.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void controller_testInvalidCursorRejected() throws Exception {
+        mockMvc.perform(get("/api/campaigns?cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void controller_testSearchCampaigns() throws Exception {
+        Campaign shelter = validCampaign();
+        shelter.setTitle("Rebuild the animal shelter");
+        shelter = campaignRepository.save(shelter);
+        Campaign library = validCampaign();
+        library.setTitle("Library books");
+        library.setCategory("Education");
+        library = campaignRepository.save(library);
+        // The test transaction never commits, so feed the index directly instead of via after-commit events
+        for (Campaign c : List.of(shelter, library)) {
+            campaignSearchIndex.onCampaignChanged(CampaignChangedEvent.updated(c.getId()));
+        }
+        try {
+            mockMvc.perform(get("/api/campaigns/search?q=shel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Rebuild the animal shelter"));
+            mockMvc.perform(get("/api/campaigns/search?q=education book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(library.getId()));
+            mockMvc.perform(get("/api/campaigns/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        } finally {
+            campaignSearchIndex.onCampaignChanged(CampaignChangedEvent.deleted(shelter.getId()));
+            campaignSearchIndex.onCampaignChanged(CampaignChangedEvent.deleted(library.getId()));
+        }
+    }
+
+    @Test
+    void controller_testCombinedFiltersAndCategoryNormalisation() throws Exception {
+        // Spellings differing in case or spacing are one category; each campaign keeps its own, spaces collapsed
+        Campaign later = validCampaign();
+        later.setCategory("Medical Aid");
+        later.setDeadline(LocalDate.now().plusDays(30));
+        campaignRepository.save(later);
+        Campaign soon = validCampaign();
+        soon.setCategory("  medical   AID ");
+        soon.setDeadline(LocalDate.now().plusDays(3));
+        campaignRepository.save(soon);
+        Campaign done = validCampaign();
+        done.setCategory("Medical Aid");
+        done.setDeadline(LocalDate.now().plusDays(4));
+        done.setStatus(CampaignStatus.COMPLETED);
+        campaignRepository.save(done);
+
+        mockMvc.perform(get("/api/campaigns")
+                .param("category", "MEDICAL aid")
+                .param("status", "active")
+                .param("deadlineFrom", LocalDate.now().toString())
+                .param("deadlineTo", LocalDate.now().plusDays(7).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].category", is("medical AID")))
+            .andExpect(jsonPath("$[0].deadline", is(LocalDate.now().plusDays(3).toString())));
+        mockMvc.perform(get("/api/campaigns?status=COMPLETED"))
+            .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/campaigns?status=PAUSED"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void controller_testCategoryLookupsDoNotChooseSpellings() throws Exception {
+        // A read with a spelling nobody stored must not decide how a later campaign is stored or counted
+        mockMvc.perform(get("/api/campaigns").param("category", "lookup  FIRST"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/campaigns/facets").param("category", "LOOKUP first"))
+            .andExpect(status().isOk());
+
+        Campaign c = validCampaign();
+        c.setCategory("Lookup First");
+        mockMvc.perform(post("/api/campaigns")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(c)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.category", is("Lookup First")));
+        mockMvc.perform(get("/api/campaigns/facets"))
+            .andExpect(jsonPath("$.categories['Lookup First']", is(1)));
+    }
+
+    @Test
+    void controller_testFacetCounts() throws Exception {
+        for (String category : List.of("Facet Alpha", "facet alpha", "Facet Beta", "FACET  ALPHA")) {
+            Campaign c = validCampaign();
+            c.setCategory(category);
+            mockMvc.perform(post("/api/campaigns")
+                    .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(c)))
+                .andExpect(status().isCreated());
+        }
+        mockMvc.perform(get("/api/campaigns/facets?status=ACTIVE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories['Facet Alpha']", is(3)))
+            .andExpect(jsonPath("$.categories['Facet Beta']", is(1)));
+        mockMvc.perform(get("/api/campaigns/facets?category=FACET BETA"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.statuses.ACTIVE", is(1)))
+            .andExpect(jsonPath("$.statuses.COMPLETED").doesNotExist());
+    }
 }
@@ -0,0 +1,129 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignFacetCountRepository;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CampaignImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private CampaignFacetCountRepository facetCountRepository;
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @AfterEach
+    void cleanup() {
+        campaignRepository.deleteAll();
+        facetCountRepository.deleteAll();
+        campaignCache.clear();
+    }
+
+    Campaign campaign(int n) {
+        Campaign c = new Campaign();
+        c.setTitle("Imported campaign " + n);
+        c.setDescription("A campaign from a partner catalog.");
+        c.setGoalAmount(new BigDecimal("2500.00"));
+        c.setCategory(n % 2 == 0 ? "Education" : "Animals");
+        c.setCreatorName("Partner");
+        c.setDeadline(LocalDate.now().plusDays(20));
+        return c;
+    }
+
+    @Test
+    void testNdjsonImportSpansChunksAndReportsBadRowsByLine() throws Exception {
+        int rows = 1200;
+        StringBuilder catalog = new StringBuilder();
+        for (int i = 1; i <= rows; i++) {
+            if (i == 3) {
+                catalog.append("{\"title\": \"Broken\n");
+            } else if (i == 700) {
+                Campaign tooSmall = campaign(i);
+                tooSmall.setGoalAmount(new BigDecimal("10"));
+                catalog.append(objectMapper.writeValueAsString(tooSmall)).append('\n');
+            } else if (i == 1100) {
+                Campaign past = campaign(i);
+                past.setDeadline(LocalDate.now().minusDays(1));
+                catalog.append(objectMapper.writeValueAsString(past)).append('\n');
+            } else {
+                catalog.append(objectMapper.writeValueAsString(campaign(i))).append('\n');
+            }
+        }
+
+        mockMvc.perform(post("/api/campaigns/import").content(catalog.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(rows - 3)))
+                .andExpect(jsonPath("$.failed", is(3)))
+                .andExpect(jsonPath("$.errors[*].line", contains(3, 700, 1100)))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].message", is("Goal amount must be at least 50")))
+                .andExpect(jsonPath("$.errors[2].message", is("Deadline must be a future date")));
+
+        List<Campaign> imported = campaignRepository.findAll();
+        assertEquals(rows - 3, imported.size());
+        assertTrue(imported.stream().allMatch(c -> c.getCurrentAmount().signum() == 0 && c.getCreatedAt() != null));
+        mockMvc.perform(get("/api/campaigns/facets"))
+                .andExpect(jsonPath("$.categories.Education", is(rows / 2 - 2)))
+                .andExpect(jsonPath("$.categories.Animals", is(rows / 2 - 1)));
+        mockMvc.perform(get("/api/campaigns/search").param("q", "Imported"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", not(empty())));
+    }
+
+    @Test
+    void testCsvImportHandlesQuotingAndBadFields() throws Exception {
+        String deadline = LocalDate.now().plusDays(15).toString();
+        String catalog = "title,description,goalAmount,category,creatorName,deadline\n"
+                + "Clean Water,\"Wells, pumps and \"\"filters\"\"\nfor two villages\",1500.00,community,Ann," + deadline + "\n"
+                + "\n"
+                + "Bad Goal,A perfectly fine description,lots,Community,Ann," + deadline + "\n"
+                + "Bad Date,A perfectly fine description,100,Community,Ann,next week\n"
+                + "Too,Few\n";
+
+        mockMvc.perform(post("/api/campaigns/import").param("format", "csv").content(catalog))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(3)))
+                .andExpect(jsonPath("$.errors[*].line", contains(5, 6, 7)))
+                .andExpect(jsonPath("$.errors[0].message", is("Invalid goalAmount: lots")))
+                .andExpect(jsonPath("$.errors[1].message", is("Invalid deadline: next week")))
+                .andExpect(jsonPath("$.errors[2].message", is("Expected 6 fields but found 2")));
+
+        Campaign water = campaignRepository.findAll().get(0);
+        assertEquals("Wells, pumps and \"filters\"\nfor two villages", water.getDescription());
+        assertEquals("community", water.getCategory());
+    }
+
+    @Test
+    void testUnknownFormatOrHeaderIsRejected() throws Exception {
+        mockMvc.perform(post("/api/campaigns/import").param("format", "xml").content("<campaigns/>"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/campaigns/import").param("format", "csv").content("title,budget\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown CSV column: budget")));
+    }
+}
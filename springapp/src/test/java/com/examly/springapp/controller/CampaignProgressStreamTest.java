@@ -0,0 +1,98 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.CampaignProgressBroadcaster;
+import com.examly.springapp.service.DonationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Not @Transactional: progress is pushed by after-commit listeners and a scheduled flusher
+@SpringBootTest(properties = "campaigns.progress.max-updates-per-second=2")
+@AutoConfigureMockMvc
+class CampaignProgressStreamTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private CampaignProgressBroadcaster progressBroadcaster;
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    Campaign saveCampaign() {
+        Campaign c = new Campaign();
+        c.setTitle("Live Campaign");
+        c.setDescription("A campaign watched by many viewers.");
+        c.setGoalAmount(new BigDecimal("10000.00"));
+        c.setCategory("Medical");
+        c.setCreatorName("Eve");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        return campaignRepository.save(c);
+    }
+
+    String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        assertTrue(body.contains(expected), "Expected " + expected + " in " + body);
+        return body;
+    }
+
+    @Test
+    void controller_testProgressStreamCoalescesDonations() throws Exception {
+        Campaign c = saveCampaign();
+        MvcResult first = mockMvc.perform(get("/api/campaigns/" + c.getId() + "/progress/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult second = mockMvc.perform(get("/api/campaigns/" + c.getId() + "/progress/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(2, progressBroadcaster.subscriberCount(c.getId()));
+        awaitContent(first.getResponse(), "\"currentAmount\":0");
+        assertTrue(first.getResponse().getContentType().startsWith("text/event-stream"));
+
+        for (int i = 0; i < 20; i++) {
+            Donation d = new Donation();
+            d.setAmount(new BigDecimal("10.00"));
+            d.setDonorName("Viewer " + i);
+            donationService.makeDonation(c.getId(), d);
+        }
+
+        String body = awaitContent(first.getResponse(), "\"currentAmount\":200.00");
+        awaitContent(second.getResponse(), "\"currentAmount\":200.00");
+        int events = body.split("event:progress", -1).length - 1;
+        assertTrue(events < 20, "Expected coalesced updates but got " + events);
+        assertTrue(body.contains("\"status\":\"ACTIVE\""));
+    }
+
+    @Test
+    void controller_testProgressStreamUnknownCampaign() throws Exception {
+        mockMvc.perform(get("/api/campaigns/999999/progress/stream"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,165 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.repository.DonationRollupRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CampaignTimeseriesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationRollupRepository donationRollupRepository;
+    @Autowired
+    private CampaignCache campaignCache;
+
+    private Campaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        Campaign c = new Campaign();
+        c.setTitle("Velocity Campaign");
+        c.setDescription("A campaign whose funding is charted.");
+        c.setGoalAmount(new BigDecimal("1000.00"));
+        c.setCategory("Community");
+        c.setCreatorName("Ann");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        campaign = campaignRepository.save(c);
+    }
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+        donationRollupRepository.deleteAll();
+        campaignCache.clear();
+    }
+
+    void donate(String amount) throws Exception {
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal(amount));
+        d.setDonorName("Bob");
+        mockMvc.perform(post("/api/campaigns/" + campaign.getId() + "/donations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated());
+    }
+
+    JsonNode timeseries(String... params) throws Exception {
+        var request = get("/api/campaigns/" + campaign.getId() + "/timeseries");
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    static long donations(JsonNode series) {
+        long total = 0;
+        for (JsonNode bucket : series.get("buckets")) {
+            total += bucket.get("donationCount").asLong();
+        }
+        return total;
+    }
+
+    static BigDecimal amount(JsonNode series) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (JsonNode bucket : series.get("buckets")) {
+            total = total.add(bucket.get("totalAmount").decimalValue());
+        }
+        return total;
+    }
+
+    @Test
+    void testRecentDonationsAreCountedInEveryGranularity() throws Exception {
+        donate("25.00");
+        donate("10.50");
+
+        JsonNode minutes = timeseries("granularity", "minute");
+        assertEquals("MINUTE", minutes.get("granularity").asText());
+        assertEquals(120, minutes.get("buckets").size());
+        assertEquals(2, donations(minutes));
+        assertEquals(0, new BigDecimal("35.50").compareTo(amount(minutes)));
+
+        JsonNode days = timeseries("granularity", "day");
+        assertEquals(30, days.get("buckets").size());
+        assertEquals(2, donations(days));
+        assertEquals(2, donations(timeseries()));
+    }
+
+    @Test
+    void testOlderBucketsAreServedFromCompactedRows() throws Exception {
+        LocalDateTime earlier = LocalDateTime.now().minusHours(5).truncatedTo(ChronoUnit.MINUTES).plusSeconds(10);
+        for (String amount : new String[]{"40.00", "2.00"}) {
+            Donation d = new Donation();
+            d.setAmount(new BigDecimal(amount));
+            d.setDonorName("Early Bird");
+            d.setDonatedAt(earlier);
+            d.setCampaign(campaign);
+            donationRepository.save(d);
+        }
+        mockMvc.perform(post("/api/admin/stats/rebuild")).andExpect(status().isOk());
+
+        // Five hours back is outside the in-memory minute ring
+        JsonNode minutes = timeseries("granularity", "minute",
+                "from", earlier.minusMinutes(2).toString(), "to", earlier.plusMinutes(2).toString());
+        assertEquals(5, minutes.get("buckets").size());
+        assertEquals(2, minutes.get("buckets").get(2).get("donationCount").asLong());
+        assertEquals(0, new BigDecimal("42.00").compareTo(minutes.get("buckets").get(2).get("totalAmount").decimalValue()));
+        assertEquals(2, donations(minutes));
+
+        // Reloaded from the hour rows, not counted twice
+        assertEquals(2, donations(timeseries("granularity", "hour")));
+
+        donate("5.00");
+        JsonNode days = timeseries("granularity", "day");
+        assertEquals(3, donations(days));
+        assertEquals(0, new BigDecimal("47.00").compareTo(amount(days)));
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/campaigns/" + campaign.getId() + "/timeseries").param("granularity", "week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("granularity")));
+        mockMvc.perform(get("/api/campaigns/" + campaign.getId() + "/timeseries")
+                        .param("granularity", "minute")
+                        .param("from", LocalDateTime.now().minusDays(3).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/campaigns/999999/timeseries"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,137 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.DonationAdmission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "donations.admission.enabled=true",
+        "donations.admission.campaign-rate=0.1",
+        "donations.admission.campaign-burst=2",
+        "donations.admission.client-rate=0",
+        "donations.admission.max-wait-ms=0",
+        "donations.admission.client-header=X-Client-Id"})
+@AutoConfigureMockMvc
+class DonationAdmissionControllerTest {
+
+    private static final String DONATION = "{\"amount\": 10.00, \"donorName\": \"Storm\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationAdmission donationAdmission;
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    Campaign campaign() {
+        Campaign c = new Campaign();
+        c.setTitle("Viral Campaign");
+        c.setDescription("A campaign everyone donates to at once.");
+        c.setGoalAmount(new BigDecimal("100000.00"));
+        c.setCategory("Medical");
+        c.setCreatorName("Eve");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        return campaignRepository.save(c);
+    }
+
+    MockHttpServletRequestBuilder donate(Long campaignId) {
+        return post("/api/campaigns/" + campaignId + "/donations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Client-Id", "mobile-1")
+                .content(DONATION);
+    }
+
+    @Test
+    void testHotCampaignIsShedWith429WhileOthersAreServed() throws Exception {
+        Campaign hot = campaign();
+        Campaign quiet = campaign();
+        long rejectedBefore = donationAdmission.stats().get("rejectedCampaign");
+
+        mockMvc.perform(donate(hot.getId())).andExpect(status().isCreated());
+        mockMvc.perform(donate(hot.getId())).andExpect(status().isCreated());
+        mockMvc.perform(donate(hot.getId()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.message", containsString("campaign")));
+
+        mockMvc.perform(donate(quiet.getId())).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/campaigns/" + hot.getId())).andExpect(status().isOk());
+
+        assertEquals(rejectedBefore + 1, donationAdmission.stats().get("rejectedCampaign"));
+        assertEquals(2, donationRepository.findSummariesByCampaignId(hot.getId()).size());
+        mockMvc.perform(get("/api/admin/admission/stats"))
+                .andExpect(jsonPath("$.rejectedCampaign", is((int) (rejectedBefore + 1))));
+    }
+
+    @Test
+    void testBatchIsChargedPerDonation() throws Exception {
+        Campaign hot = campaign();
+        String batch = "[" + DONATION + ", " + DONATION + "]";
+
+        mockMvc.perform(post("/api/campaigns/" + hot.getId() + "/donations:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Client-Id", "mobile-1")
+                        .content(batch))
+                .andExpect(status().isCreated());
+        // The batch spent the whole burst
+        mockMvc.perform(donate(hot.getId())).andExpect(status().isTooManyRequests());
+
+        Campaign other = campaign();
+        mockMvc.perform(post("/api/campaigns/" + other.getId() + "/donations:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + DONATION + ", " + DONATION + ", " + DONATION + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("at most 2")));
+
+        assertEquals(2, donationRepository.findSummariesByCampaignId(hot.getId()).size());
+        assertEquals(0, donationRepository.findSummariesByCampaignId(other.getId()).size());
+    }
+
+    @Test
+    void testLimitsAreReplacedAtRuntime() throws Exception {
+        Campaign hot = campaign();
+        String limits = "{\"enabled\": true, \"campaignRate\": 0.1, \"campaignBurst\": 1, \"clientRate\": 0, " +
+                "\"clientBurst\": 1, \"maxWaitMs\": 0, \"maxWaiting\": 0}";
+        try {
+            mockMvc.perform(put("/api/admin/admission/limits").contentType(MediaType.APPLICATION_JSON).content(limits))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.campaignBurst", is(1)));
+            mockMvc.perform(donate(hot.getId())).andExpect(status().isCreated());
+            mockMvc.perform(donate(hot.getId())).andExpect(status().isTooManyRequests());
+
+            mockMvc.perform(put("/api/admin/admission/limits").contentType(MediaType.APPLICATION_JSON)
+                            .content(limits.replace("\"enabled\": true", "\"enabled\": false")))
+                    .andExpect(status().isOk());
+            mockMvc.perform(donate(hot.getId())).andExpect(status().isCreated());
+        } finally {
+            mockMvc.perform(put("/api/admin/admission/limits").contentType(MediaType.APPLICATION_JSON)
+                    .content(limits.replace("\"campaignBurst\": 1", "\"campaignBurst\": 2")));
+        }
+    }
+}
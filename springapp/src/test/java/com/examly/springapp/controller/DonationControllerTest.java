@@ -15,7 +15,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -97,4 +99,73 @@ class DonationControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
     }
+
+    @Test
+    void controller_testBatchDonationUpdatesTotalOnce() throws Exception {
+        Campaign c = makeValidCampaign();
+        Donation d1 = new Donation();
+        d1.setAmount(new BigDecimal("25.00"));
+        d1.setDonorName("First");
+        Donation d2 = new Donation();
+        d2.setAmount(new BigDecimal("75.00"));
+        d2.setDonorName("Second");
+        String json = objectMapper.writeValueAsString(List.of(d1, d2));
+        mockMvc.perform(post("/api/campaigns/"+c.getId()+"/donations:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].donorName", is("Second")));
+        Campaign reloaded = campaignRepository.findById(c.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(reloaded.getCurrentAmount()));
+    }
+
+    @Test
+    void controller_testBatchDonationRejectsInvalidRow() throws Exception {
+        Campaign c = makeValidCampaign();
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("0.50"));
+        d.setDonorName("Tiny");
+        mockMvc.perform(post("/api/campaigns/"+c.getId()+"/donations:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(d))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Minimum donation amount")));
+    }
+
+    @Test
+    void controller_testStatsMaintainedOnDonation() throws Exception {
+        Campaign c = makeValidCampaign();
+        for (String amount : new String[]{"20.00", "80.00"}) {
+            Donation d = new Donation();
+            d.setAmount(new BigDecimal(amount));
+            d.setDonorName("Stats");
+            mockMvc.perform(post("/api/campaigns/"+c.getId()+"/donations")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(d)))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(get("/api/campaigns/"+c.getId()+"/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.donationCount", is(2)))
+                .andExpect(jsonPath("$.totalAmount", is(100.00)))
+                .andExpect(jsonPath("$.averageAmount", is(50.00)))
+                .andExpect(jsonPath("$.maxAmount", is(80.00)));
+    }
+
+    @Test
+    void controller_testStatsRebuildFromDonations() throws Exception {
+        Campaign c = makeValidCampaign();
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("45.00"));
+        d.setDonorName("Imported");
+        d.setCampaign(c);
+        donationRepository.save(d);
+        mockMvc.perform(post("/api/admin/stats/rebuild"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/campaigns/"+c.getId()+"/stats"))
+                .andExpect(jsonPath("$.donationCount", is(1)))
+                .andExpect(jsonPath("$.maxAmount", is(45.00)));
+    }
 }
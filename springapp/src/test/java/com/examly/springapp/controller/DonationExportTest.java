@@ -0,0 +1,93 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Not @Transactional: the export runs on an async thread in its own transaction and must see committed rows
+@SpringBootTest
+@AutoConfigureMockMvc
+class DonationExportTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    Campaign campaignWithDonations(int count) {
+        Campaign c = new Campaign();
+        c.setTitle("Export Campaign");
+        c.setDescription("A campaign whose donations are exported.");
+        c.setGoalAmount(new BigDecimal("1000.00"));
+        c.setCategory("Medical");
+        c.setCreatorName("Eve");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        Campaign saved = campaignRepository.save(c);
+        List<Donation> donations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Donation d = new Donation();
+            d.setAmount(new BigDecimal("10.00"));
+            d.setDonorName("Donor " + i);
+            d.setMessage(i == 0 ? "Good luck, \"team\"" : null);
+            d.setCampaign(saved);
+            donations.add(d);
+        }
+        donationRepository.saveAll(donations);
+        return saved;
+    }
+
+    String export(Long campaignId, String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations/export?format=" + format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void controller_testExportNdjsonStreamsEveryRow() throws Exception {
+        Campaign c = campaignWithDonations(250);
+        String[] lines = export(c.getId(), "ndjson").split("\n");
+        assertEquals(250, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertFalse(lines[0].contains("campaign"));
+    }
+
+    @Test
+    void controller_testExportCsvQuotesFields() throws Exception {
+        Campaign c = campaignWithDonations(3);
+        String[] lines = export(c.getId(), "csv").split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("id,amount,donorName,message", lines[0]);
+        assertTrue(lines[1].endsWith(",10.00,Donor 0,\"Good luck, \"\"team\"\"\""));
+    }
+
+    @Test
+    void controller_testExportUnknownCampaign() throws Exception {
+        mockMvc.perform(get("/api/campaigns/987654/donations/export"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,55 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Test
+    void controller_testPrometheusScrapeHasHotPathMeters() throws Exception {
+        Campaign c = new Campaign();
+        c.setTitle("Metrics Campaign");
+        c.setDescription("A campaign used to generate metrics.");
+        c.setGoalAmount(new BigDecimal("1000.00"));
+        c.setCategory("Medical");
+        c.setCreatorName("Eve");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        c = campaignRepository.save(c);
+
+        mockMvc.perform(post("/api/campaigns/" + c.getId() + "/donations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 12.50, \"donorName\": \"Metric\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/campaigns/" + c.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("donations_accepted_total")))
+                .andExpect(content().string(containsString("uri=\"/api/campaigns/{id}\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("http_server_serialization_seconds")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(not(containsString("uri=\"/api/campaigns/" + c.getId() + "\""))));
+    }
+}
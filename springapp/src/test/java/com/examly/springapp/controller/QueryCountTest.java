@@ -0,0 +1,167 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.examly.springapp.service.CampaignService;
+import com.examly.springapp.service.DonationService;
+import com.examly.springapp.service.DonationWatermarks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Pins the number of SQL statements each read endpoint issues, so an N+1 or an extra lookup fails the build.
+// Not @Transactional: the search index and leaderboard are fed by after-commit events.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "campaigns.deadline-scheduler.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+class QueryCountTest {
+    private static final int DONATIONS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private CampaignCache campaignCache;
+    @Autowired
+    private DonationWatermarks donationWatermarks;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+
+    private Statistics statistics;
+    private Long campaignId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 3; i++) {
+            Campaign c = new Campaign();
+            c.setTitle("Counted Campaign " + i);
+            c.setDescription("Statement counting campaign number " + i + ".");
+            c.setGoalAmount(new BigDecimal("100000.00"));
+            c.setCategory("Technology");
+            c.setCreatorName("Quinn");
+            c.setDeadline(LocalDate.now().plusDays(20 + i));
+            campaignId = campaignService.createCampaign(c).getId();
+        }
+        for (int i = 0; i < DONATIONS; i++) {
+            Donation d = new Donation();
+            d.setAmount(new BigDecimal("5.00"));
+            d.setDonorName("Counter " + i);
+            donationService.makeDonation(campaignId, d);
+        }
+        campaignCache.clear();
+        donationWatermarks.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    long statementsFor(RequestBuilder request) throws Exception {
+        return statementsFor(request, status().isOk());
+    }
+
+    long statementsFor(RequestBuilder request, ResultMatcher expected) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(expected);
+        return statistics.getPrepareStatementCount();
+    }
+
+    String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void controller_testDonationListIsOneStatement() throws Exception {
+        assertEquals(1, statementsFor(get("/api/campaigns/" + campaignId + "/donations")));
+        mockMvc.perform(get("/api/campaigns/" + campaignId + "/donations"))
+                .andExpect(jsonPath("$", hasSize(DONATIONS)))
+                .andExpect(jsonPath("$[0].donatedAt").exists())
+                .andExpect(jsonPath("$[0].campaign").doesNotExist());
+    }
+
+    @Test
+    void controller_testCampaignReadsStatementCounts() throws Exception {
+        assertEquals(1, statementsFor(get("/api/campaigns?category=Technology&limit=2")));
+        assertEquals(1, statementsFor(get("/api/campaigns?category=Technology&status=ACTIVE&sort=deadline")));
+        assertEquals(1, statementsFor(get("/api/campaigns/" + campaignId)));
+        assertEquals(0, statementsFor(get("/api/campaigns/" + campaignId)));
+        assertEquals(1, statementsFor(get("/api/campaigns/" + campaignId + "/stats")));
+        assertEquals(1, statementsFor(get("/api/campaigns/search?q=counted")));
+        assertEquals(1, statementsFor(get("/api/campaigns/facets")));
+        assertEquals(0, statementsFor(get("/api/campaigns/leaderboard/most-funded")));
+    }
+
+    @Test
+    void controller_testUnchangedResourcesRevalidateWithoutStatements() throws Exception {
+        String campaignUrl = "/api/campaigns/" + campaignId;
+        String donationsUrl = campaignUrl + "/donations";
+        String campaignTag = etagOf(campaignUrl);
+        String donationsTag = etagOf(donationsUrl);
+        assertNotNull(campaignTag);
+        assertNotNull(donationsTag);
+
+        assertEquals(0, statementsFor(get(campaignUrl).header(HttpHeaders.IF_NONE_MATCH, campaignTag),
+                status().isNotModified()));
+        assertEquals(0, statementsFor(get(donationsUrl).header(HttpHeaders.IF_NONE_MATCH, donationsTag),
+                status().isNotModified()));
+        mockMvc.perform(get(donationsUrl).header(HttpHeaders.IF_NONE_MATCH, donationsTag))
+                .andExpect(header().string(HttpHeaders.ETAG, donationsTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        // A committed donation changes both tags, so the old ones get full responses again
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("5.00"));
+        d.setDonorName("Late Counter");
+        donationService.makeDonation(campaignId, d);
+        mockMvc.perform(get(campaignUrl).header(HttpHeaders.IF_NONE_MATCH, campaignTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(campaignTag)))
+                .andExpect(jsonPath("$.currentAmount", is(130.0)));
+        mockMvc.perform(get(donationsUrl).header(HttpHeaders.IF_NONE_MATCH, donationsTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(donationsTag)))
+                .andExpect(jsonPath("$", hasSize(DONATIONS + 1)));
+    }
+
+    @Test
+    void controller_testListPagesAreCacheableBriefly() throws Exception {
+        mockMvc.perform(get("/api/campaigns").param("category", "Technology"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/campaigns/leaderboard/most-funded"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.service.CampaignCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs on a real port: compression is applied by the servlet container, which MockMvc bypasses
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/cbor,application/x-jackson-smile",
+        "server.compression.min-response-size=2KB"})
+class ResponseEncodingTest {
+
+    private static final int CAMPAIGNS = 40;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private CampaignCache campaignCache;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Long campaignId;
+
+    @BeforeEach
+    void seed() {
+        List<Campaign> campaigns = new ArrayList<>();
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            Campaign c = new Campaign();
+            c.setTitle("Encoded Campaign " + i);
+            c.setDescription("A campaign listed in every encoding.");
+            c.setGoalAmount(new BigDecimal("1250.50"));
+            c.setCategory("Technology");
+            c.setCreatorName("Rita");
+            c.setDeadline(LocalDate.now().plusDays(30 + i));
+            campaigns.add(c);
+        }
+        campaignId = campaignRepository.saveAll(campaigns).get(0).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        campaignRepository.deleteAll();
+        campaignCache.clear();
+    }
+
+    HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    // Tomcat folds its own Accept-Encoding into a single comma-separated Vary line
+    static List<String> varyTokens(HttpResponse<?> response) {
+        return response.headers().allValues(HttpHeaders.VARY).stream()
+                .flatMap(line -> Arrays.stream(line.split(",")))
+                .map(token -> token.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testBinaryEncodingsCarryTheSameListAsJson() throws Exception {
+        String path = "/api/campaigns?category=Technology&limit=" + CAMPAIGNS;
+        HttpResponse<byte[]> json = get(path, "application/json", null);
+        HttpResponse<byte[]> cbor = get(path, "application/cbor", null);
+        HttpResponse<byte[]> smile = get(path, "application/x-jackson-smile", null);
+
+        assertEquals("application/cbor", cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertTrue(varyTokens(cbor).contains("accept"));
+        assertTrue(cbor.body().length < json.body().length);
+        assertTrue(smile.body().length < json.body().length);
+
+        JsonNode expected = objectMapper.readTree(json.body());
+        for (JsonNode actual : List.of(new ObjectMapper(new CBORFactory()).readTree(cbor.body()),
+                new ObjectMapper(new SmileFactory()).readTree(smile.body()))) {
+            assertEquals(CAMPAIGNS, actual.size());
+            for (int i = 0; i < CAMPAIGNS; i++) {
+                assertEquals(expected.get(i).get("id").asLong(), actual.get(i).get("id").asLong());
+                assertEquals(expected.get(i).get("title").asText(), actual.get(i).get("title").asText());
+                assertEquals(expected.get(i).get("deadline").asText(), actual.get(i).get("deadline").asText());
+                assertEquals(0, expected.get(i).get("goalAmount").decimalValue()
+                        .compareTo(actual.get(i).get("goalAmount").decimalValue()));
+            }
+        }
+    }
+
+    @Test
+    void testLargeResponsesAreCompressedAndSmallOnesAreNot() throws Exception {
+        String path = "/api/campaigns?category=Technology&limit=" + CAMPAIGNS;
+        HttpResponse<byte[]> plain = get(path, "application/json", null);
+        HttpResponse<byte[]> gzipped = get(path, "application/json", "gzip");
+        assertEquals("gzip", gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertTrue(gzipped.body().length < plain.body().length);
+        assertArrayEquals(plain.body(), gunzip(gzipped.body()));
+
+        HttpResponse<byte[]> cbor = get(path, "application/cbor", "gzip");
+        assertEquals("gzip", cbor.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+
+        // One campaign is below the threshold; its weak ETag still allows compressing larger entity reads
+        HttpResponse<byte[]> single = get("/api/campaigns/" + campaignId, "application/json", "gzip");
+        assertTrue(single.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        assertEquals(single.body().length,
+                single.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElseThrow());
+        assertTrue(single.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+        assertEquals(campaignId.longValue(), objectMapper.readTree(single.body()).get("id").asLong());
+    }
+}
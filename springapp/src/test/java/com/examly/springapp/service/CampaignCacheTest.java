@@ -0,0 +1,115 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CampaignCacheTest {
+
+    private CampaignRepository campaignRepository;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        when(campaignRepository.findById(anyLong())).thenAnswer(i -> Optional.of(campaign(i.getArgument(0))));
+    }
+
+    Campaign campaign(Long id) {
+        Campaign c = new Campaign();
+        c.setId(id);
+        c.setTitle("Cached " + id);
+        return c;
+    }
+
+    @Test
+    void testHitAfterMissReturnsCopy() {
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 100, 60);
+        Campaign first = cache.get(1L).orElseThrow();
+        first.setTitle("Mutated by caller");
+        Campaign second = cache.get(1L).orElseThrow();
+
+        assertEquals("Cached 1", second.getTitle());
+        verify(campaignRepository, times(1)).findById(1L);
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(campaignRepository.findById(7L)).thenAnswer(i -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(campaign(7L));
+        });
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 100, 60);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Optional<Campaign>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> cache.get(7L)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<Optional<Campaign>> result : results) {
+            assertTrue(result.get().isPresent());
+        }
+        pool.shutdown();
+
+        verify(campaignRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() {
+        // 16 stripes of one entry each: ids 0 and 16 land in the same stripe
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 16, 60);
+        cache.get(0L);
+        cache.get(16L);
+        cache.get(0L);
+
+        verify(campaignRepository, times(2)).findById(0L);
+        assertEquals(2L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void testExpiredEntriesAreReloaded() {
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 100, 0);
+        cache.get(3L);
+        cache.get(3L);
+
+        verify(campaignRepository, times(2)).findById(3L);
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 100, 60);
+        cache.get(4L);
+        cache.invalidate(4L);
+        cache.get(4L);
+
+        verify(campaignRepository, times(2)).findById(4L);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testMissingCampaignIsNotCached() {
+        when(campaignRepository.findById(9L)).thenReturn(Optional.empty());
+        CampaignCache cache = new CampaignCache(campaignRepository, ShardRouter.unsharded(), 100, 60);
+
+        assertTrue(cache.get(9L).isEmpty());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CampaignDeadlineSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+    private CampaignRepository campaignRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private CampaignDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        scheduler = new CampaignDeadlineScheduler(campaignRepository, mock(CampaignCache.class),
+                mock(CampaignFacetService.class), eventPublisher, ShardRouter.unsharded());
+        when(campaignRepository.closeExpired(anyCollection(), any(LocalDate.class)))
+                .thenAnswer(i -> ((Collection<?>) i.getArgument(0)).size());
+    }
+
+    @Test
+    void testOnlyOverdueCampaignsAreClosedInOneUpdate() {
+        scheduler.schedule(1L, TODAY.minusDays(3));
+        scheduler.schedule(2L, TODAY.minusDays(1));
+        scheduler.schedule(3L, TODAY);                 // still open for donations today
+        scheduler.schedule(4L, TODAY.plusDays(5));
+
+        assertEquals(2, scheduler.expireDue(TODAY));
+        verify(campaignRepository, times(1)).closeExpired(eq(List.of(1L, 2L)), eq(TODAY));
+        verify(eventPublisher).publishEvent(CampaignChangedEvent.updated(1L));
+        verify(eventPublisher).publishEvent(CampaignChangedEvent.updated(2L));
+        assertEquals(2, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testIdleTickDoesNotTouchTheDatabase() {
+        scheduler.schedule(1L, TODAY.plusDays(1));
+        assertEquals(0, scheduler.expireDue(TODAY));
+        verify(campaignRepository, never()).closeExpired(anyCollection(), any(LocalDate.class));
+    }
+
+    @Test
+    void testRescheduleAndUnschedule() {
+        scheduler.schedule(1L, TODAY.minusDays(1));
+        scheduler.schedule(1L, TODAY.plusDays(10));    // deadline extended
+        scheduler.schedule(2L, TODAY.minusDays(1));
+        scheduler.unschedule(2L);
+
+        assertEquals(0, scheduler.expireDue(TODAY));
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testFailedUpdateIsRetriedNextTick() {
+        scheduler.schedule(1L, TODAY.minusDays(2));
+        when(campaignRepository.closeExpired(anyCollection(), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> scheduler.expireDue(TODAY));
+        assertEquals(1, scheduler.expireDue(TODAY));
+    }
+}
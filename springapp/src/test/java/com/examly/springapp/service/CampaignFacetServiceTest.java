@@ -0,0 +1,84 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignFacets;
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CampaignFacetServiceTest {
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private CampaignFacetService campaignFacetService;
+    @Autowired
+    private CampaignDeadlineScheduler deadlineScheduler;
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    Campaign campaign(String category, String goal) {
+        Campaign c = new Campaign();
+        c.setTitle("Counted Campaign");
+        c.setDescription("A campaign whose facet counters are checked.");
+        c.setGoalAmount(new BigDecimal(goal));
+        c.setCategory(category);
+        c.setCreatorName("Ann");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        return campaignService.createCampaign(c);
+    }
+
+    long count(String category, CampaignStatus status) {
+        CampaignFacets facets = campaignFacetService.getFacets(category, null);
+        return facets.getStatuses().getOrDefault(status.name(), 0L);
+    }
+
+    @Test
+    void testCountersFollowCreateRecategoriseExpireAndDelete() {
+        Campaign funded = campaign("Counter Gamma", "100.00");
+        Campaign unfunded = campaign("Counter Gamma", "100.00");
+        Campaign moved = campaign("Counter Gamma", "100.00");
+        assertEquals(3, count("Counter Gamma", CampaignStatus.ACTIVE));
+
+        Campaign deleted = campaign("Counter Delta", "100.00");
+        campaignService.deleteCampaign(deleted.getId());
+        // A separate instance, as a request body would be; the created entity is still managed here
+        Campaign edit = moved.copy();
+        edit.setCategory("counter delta");
+        campaignService.updateCampaign(moved.getId(), edit);
+        assertEquals(2, count("Counter Gamma", CampaignStatus.ACTIVE));
+        assertEquals(1, count("Counter Delta", CampaignStatus.ACTIVE));
+
+        // Push both remaining campaigns past their deadline, one of them fully funded
+        LocalDate past = LocalDate.now().minusDays(1);
+        for (Campaign c : campaignRepository.findAllById(List.of(funded.getId(), unfunded.getId()))) {
+            c.setDeadline(past);
+            if (c.getId().equals(funded.getId())) {
+                c.setCurrentAmount(new BigDecimal("150.00"));
+            }
+            campaignRepository.save(c);
+            deadlineScheduler.schedule(c.getId(), past);
+        }
+        deadlineScheduler.expireDue(LocalDate.now());
+
+        assertEquals(0, count("Counter Gamma", CampaignStatus.ACTIVE));
+        assertEquals(1, count("Counter Gamma", CampaignStatus.COMPLETED));
+        assertEquals(1, count("Counter Gamma", CampaignStatus.EXPIRED));
+
+        CampaignFacets maintained = campaignFacetService.getFacets(null, null);
+        campaignFacetService.rebuild();
+        CampaignFacets rebuilt = campaignFacetService.getFacets(null, null);
+        assertEquals(rebuilt.getCategories().get("Counter Gamma"), maintained.getCategories().get("Counter Gamma"));
+        assertEquals(rebuilt.getCategories().get("Counter Delta"), maintained.getCategories().get("Counter Delta"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignSummary;
+import com.examly.springapp.dto.LeaderboardType;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.event.DonationsAppliedEvent;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CampaignLeaderboardTest {
+
+    private CampaignRepository campaignRepository;
+    private CampaignLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        leaderboard = new CampaignLeaderboard(campaignRepository, ShardRouter.unsharded());
+        leaderboard.upsert(summary(1L, "100", "1000", 30, CampaignStatus.ACTIVE));
+        leaderboard.upsert(summary(2L, "400", "500", 10, CampaignStatus.ACTIVE));
+        leaderboard.upsert(summary(3L, "400", "2000", 20, CampaignStatus.ACTIVE));
+    }
+
+    CampaignSummary summary(Long id, String current, String goal, int daysLeft, CampaignStatus status) {
+        return summary(id, current, goal, daysLeft, status, 1);
+    }
+
+    CampaignSummary summary(Long id, String current, String goal, int daysLeft, CampaignStatus status, long version) {
+        return new CampaignSummary(id, "Campaign " + id, new BigDecimal(goal), new BigDecimal(current), "Animals",
+                "Alice", LocalDate.now().plusDays(daysLeft), null, status, version);
+    }
+
+    List<Long> ids(LeaderboardType type, int offset, int limit) {
+        return leaderboard.top(type, offset, limit).stream().map(CampaignSummary::getId).toList();
+    }
+
+    @Test
+    void testRankingsWithIdTieBreak() {
+        assertEquals(List.of(2L, 3L, 1L), ids(LeaderboardType.MOST_FUNDED, 0, 10));
+        assertEquals(List.of(2L, 3L, 1L), ids(LeaderboardType.CLOSEST_TO_GOAL, 0, 10));
+        assertEquals(List.of(2L, 3L, 1L), ids(LeaderboardType.ENDING_SOON, 0, 10));
+        assertEquals(List.of(3L), ids(LeaderboardType.MOST_FUNDED, 1, 1));
+    }
+
+    @Test
+    void testDonationReloadReranks() {
+        when(campaignRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(summary(1L, "600", "1000", 30, CampaignStatus.ACTIVE, 2)));
+        leaderboard.onDonationsApplied(new DonationsAppliedEvent(1L, new BigDecimal("500"), 2));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(LeaderboardType.MOST_FUNDED, 0, 10));
+        assertEquals(new BigDecimal("600"), leaderboard.top(LeaderboardType.MOST_FUNDED, 0, 1).get(0).getCurrentAmount());
+        assertEquals(List.of(2L, 1L, 3L), ids(LeaderboardType.CLOSEST_TO_GOAL, 0, 10));
+    }
+
+    @Test
+    void testInterleavedDonationAndChangeEventsCountEachDonationOnce() {
+        // The change's reload already sees the donation committed alongside it (version 2)
+        when(campaignRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(summary(1L, "600", "1000", 30, CampaignStatus.ACTIVE, 2)));
+        leaderboard.onCampaignChanged(CampaignChangedEvent.updated(1L));
+        leaderboard.onDonationsApplied(new DonationsAppliedEvent(1L, new BigDecimal("500"), 1));
+        assertEquals(new BigDecimal("600"), leaderboard.top(LeaderboardType.MOST_FUNDED, 0, 1).get(0).getCurrentAmount());
+
+        // A second donation's reload (version 4) finishes before the change reload that read version 3
+        when(campaignRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(summary(1L, "700", "1000", 30, CampaignStatus.ACTIVE, 4)))
+                .thenReturn(Optional.of(summary(1L, "600", "1000", 30, CampaignStatus.ACTIVE, 3)));
+        leaderboard.onDonationsApplied(new DonationsAppliedEvent(1L, new BigDecimal("100"), 1));
+        leaderboard.onCampaignChanged(CampaignChangedEvent.updated(1L));
+
+        CampaignSummary top = leaderboard.top(LeaderboardType.MOST_FUNDED, 0, 1).get(0);
+        assertEquals(1L, top.getId());
+        assertEquals(new BigDecimal("700"), top.getCurrentAmount());
+        for (LeaderboardType type : LeaderboardType.values()) {
+            assertEquals(3, leaderboard.top(type, 0, 10).size());
+        }
+    }
+
+    @Test
+    void testCampaignLeavingActiveIsRemovedFromEveryBoard() {
+        when(campaignRepository.findSummaryById(2L))
+                .thenReturn(Optional.of(summary(2L, "500", "500", 10, CampaignStatus.COMPLETED)));
+        leaderboard.onCampaignChanged(CampaignChangedEvent.updated(2L));
+        leaderboard.onCampaignChanged(CampaignChangedEvent.deleted(3L));
+
+        for (LeaderboardType type : LeaderboardType.values()) {
+            assertEquals(List.of(1L), ids(type, 0, 10));
+        }
+        assertEquals(1, leaderboard.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CampaignSearchDocument;
+import com.examly.springapp.event.CampaignChangedEvent;
+import com.examly.springapp.repository.CampaignRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CampaignSearchIndexTest {
+
+    private CampaignRepository campaignRepository;
+    private CampaignSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        campaignRepository = mock(CampaignRepository.class);
+        when(campaignRepository.streamSearchDocuments()).thenReturn(Stream.of(
+                new CampaignSearchDocument(1L, "Rebuild the animal shelter", "Winter repairs for dogs and cats.", "Animals", "Alice"),
+                new CampaignSearchDocument(2L, "Library books", "Books for the village school and the animal club.", "Education", "Bob"),
+                new CampaignSearchDocument(3L, "Surgery for Zoë", "Help Zoë get the operation she needs.", "Medical", "Carmen"),
+                new CampaignSearchDocument(4L, "Animation workshop", "Teach kids stop-motion animation.", "Education", "Dana")));
+        index = new CampaignSearchIndex(campaignRepository, ShardRouter.unsharded());
+        index.rebuild();
+    }
+
+    @Test
+    void testTokenizeFoldsCaseAccentsAndStopWords() {
+        assertEquals(List.of("surgery", "zoe", "s", "knee"), CampaignSearchIndex.tokenize("Surgery for ZOË's knee!"));
+        assertTrue(CampaignSearchIndex.tokenize("  ...  ").isEmpty());
+    }
+
+    @Test
+    void testTitleMatchesRankAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), index.search("animal ", 10));
+    }
+
+    @Test
+    void testLastWordIsMatchedAsPrefix() {
+        // "animation" is rarer than "animal", so its higher idf outweighs the prefix penalty
+        assertEquals(List.of(4L, 1L, 2L), index.search("anim", 10));
+        assertEquals(List.of(4L), index.search("kids anim", 10));
+        assertEquals(List.of(3L), index.search("zoe", 10));
+        assertEquals(List.of(), index.search("zebra", 10));
+    }
+
+    @Test
+    void testAllWordsMustMatch() {
+        assertEquals(List.of(2L), index.search("books school ", 10));
+        assertEquals(List.of(), index.search("books surgery ", 10));
+        assertEquals(List.of(2L), index.search("education books", 10));
+    }
+
+    @Test
+    void testIncrementalUpdateAndDelete() {
+        when(campaignRepository.findSearchDocumentById(3L)).thenReturn(Optional.of(
+                new CampaignSearchDocument(3L, "Hip surgery for Zoë", "Updated text about recovery.", "Medical", "Carmen")));
+        index.onCampaignChanged(CampaignChangedEvent.updated(3L));
+        assertEquals(List.of(3L), index.search("recovery", 10));
+        assertEquals(List.of(), index.search("operation", 10));
+
+        index.onCampaignChanged(CampaignChangedEvent.deleted(1L));
+        assertEquals(List.of(4L, 2L), index.search("anim", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testLimitIsApplied() {
+        assertEquals(List.of(4L), index.search("anim", 1));
+    }
+}
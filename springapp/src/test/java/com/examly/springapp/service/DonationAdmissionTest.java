@@ -0,0 +1,127 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.AdmissionLimits;
+import com.examly.springapp.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonationAdmissionTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    DonationAdmission admission(double campaignRate, int campaignBurst, double clientRate, int clientBurst,
+                                long maxWaitMs, int maxWaiting) {
+        return new DonationAdmission(new AdmissionLimits(true, campaignRate, campaignBurst, clientRate, clientBurst,
+                maxWaitMs, maxWaiting), registry, clock::get);
+    }
+
+    @Test
+    void testBurstIsAdmittedThenRejectedUntilRefilled() {
+        DonationAdmission admission = admission(10, 3, 0, 1, 0, 0);
+        for (int i = 0; i < 3; i++) {
+            admission.admit(1L, "a");
+        }
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit(1L, "b"));
+        assertEquals(Duration.ofMillis(100), rejected.getRetryAfter());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        admission.admit(1L, "c");
+        assertEquals(1L, admission.stats().get("rejectedCampaign"));
+        assertEquals(1.0, registry.get("donations.admission.rejected").tag("limit", "campaign").counter().count());
+    }
+
+    @Test
+    void testHotCampaignDoesNotSpendOtherCampaignsBudget() {
+        DonationAdmission admission = admission(1, 2, 0, 1, 0, 0);
+        admission.admit(1L, null);
+        admission.admit(1L, null);
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(1L, null));
+
+        admission.admit(2L, null);
+        admission.admit(2L, null);
+    }
+
+    @Test
+    void testClientLimitAppliesAcrossCampaigns() {
+        DonationAdmission admission = admission(1, 1, 1, 2, 0, 0);
+        admission.admit(1L, "greedy");
+        admission.admit(2L, "greedy");
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(3L, "greedy"));
+
+        // Campaign 1 is over budget: the client slot taken for it is given back
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(1L, "polite"));
+        admission.admit(4L, "polite");
+        admission.admit(5L, "polite");
+        assertEquals(1L, admission.stats().get("rejectedClient"));
+        assertEquals(1L, admission.stats().get("rejectedCampaign"));
+    }
+
+    @Test
+    void testOverBudgetRequestWaitsWithinBound() {
+        DonationAdmission admission = admission(20, 1, 0, 1, 500, 10);
+        admission.admit(1L, null);
+        long start = System.nanoTime();
+        admission.admit(1L, null);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45));
+        assertEquals(1L, admission.stats().get("delayed"));
+        assertEquals(0L, admission.stats().get("waiting"));
+    }
+
+    @Test
+    void testWaitingIsCapped() {
+        DonationAdmission admission = admission(20, 1, 0, 1, 500, 0);
+        admission.admit(1L, null);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit(1L, null));
+        assertEquals(Duration.ofMillis(50), rejected.getRetryAfter());
+        assertEquals(1L, admission.stats().get("rejectedQueue"));
+
+        // The slot reserved before the cap was hit was released
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        admission.admit(1L, null);
+    }
+
+    @Test
+    void testBatchTakesOneSlotPerDonation() {
+        DonationAdmission admission = admission(10, 5, 10, 4, 0, 0);
+        admission.admit(1L, "batcher", 3);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> admission.admit(1L, "batcher", 2));
+        assertEquals(Duration.ofMillis(100), rejected.getRetryAfter());
+        admission.admit(1L, "batcher");
+
+        // Larger than a burst, it could never be admitted whole
+        assertThrows(ValidationException.class, () -> admission.admit(2L, "other", 6));
+        assertEquals(1L, admission.stats().get("campaignBuckets"));
+
+        // Rejected by the campaign's budget: the client slots are given back
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        admission.admit(1L, "first", 4);
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(1L, "second", 4));
+        admission.admit(2L, "second", 4);
+    }
+
+    @Test
+    void testLimitsChangeAtRuntimeAndIdleBucketsAreSwept() {
+        DonationAdmission admission = admission(1, 1, 0, 1, 0, 0);
+        admission.admit(1L, null);
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(1L, null));
+
+        admission.setLimits(new AdmissionLimits(false, 1, 1, 0, 1, 0, 0));
+        admission.admit(1L, null);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        admission.sweepIdleBuckets();
+        assertEquals(0L, admission.stats().get("campaignBuckets"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "donations.group-commit.enabled=true")
+class DonationBatcherTest {
+    @Autowired
+    private DonationBatcher donationBatcher;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    Campaign saveCampaign(LocalDate deadline) {
+        Campaign c = new Campaign();
+        c.setTitle("Batched Campaign");
+        c.setDescription("A campaign fed through the group-commit queue.");
+        c.setGoalAmount(new BigDecimal("100000.00"));
+        c.setCategory("Community");
+        c.setCreatorName("Ann");
+        c.setDeadline(deadline);
+        return campaignRepository.save(c);
+    }
+
+    @Test
+    void testGroupCommitAppliesEveryDonation() throws Exception {
+        Long first = saveCampaign(LocalDate.now().plusDays(5)).getId();
+        Long second = saveCampaign(LocalDate.now().plusDays(5)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Donation>> results = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Long campaignId = i % 3 == 0 ? second : first;
+            results.add(pool.submit(() -> {
+                Donation d = new Donation();
+                d.setAmount(new BigDecimal("2.00"));
+                d.setDonorName("Webhook");
+                return donationBatcher.donate(campaignId, d);
+            }));
+        }
+        for (Future<Donation> result : results) {
+            assertNotNull(result.get().getId());
+        }
+        pool.shutdown();
+
+        assertEquals(0, new BigDecimal("800.00").compareTo(campaignRepository.findById(first).orElseThrow().getCurrentAmount()));
+        assertEquals(0, new BigDecimal("400.00").compareTo(campaignRepository.findById(second).orElseThrow().getCurrentAmount()));
+        assertEquals(600, donationRepository.count());
+    }
+
+    @Test
+    void testGroupCommitRejectsExpiredCampaignOnly() {
+        Long expired = saveCampaign(LocalDate.now().minusDays(1)).getId();
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("5.00"));
+        d.setDonorName("Late");
+        assertThrows(ValidationException.class, () -> donationBatcher.donate(expired, d));
+        assertEquals(0, donationRepository.count());
+    }
+
+    @Test
+    void testDonationAfterStopFailsInsteadOfWaiting() throws Exception {
+        DonationBatcher stopped = new DonationBatcher(mock(DonationService.class), ShardRouter.unsharded(),
+                true, 5, 500, 10);
+        stopped.start();
+        stopped.stop();
+
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("5.00"));
+        d.setDonorName("Late");
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> stopped.donate(1L, d)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DonationConcurrencyTest {
+    private static final int DONATIONS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @AfterEach
+    void cleanup() {
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+    }
+
+    @Test
+    void testParallelDonationsToOneCampaignAreNeverLost() throws Exception {
+        Campaign c = new Campaign();
+        c.setTitle("Viral Campaign");
+        c.setDescription("A campaign receiving a burst of parallel donations.");
+        c.setGoalAmount(new BigDecimal("1000000.00"));
+        c.setCategory("Medical");
+        c.setCreatorName("Eve");
+        c.setDeadline(LocalDate.now().plusDays(10));
+        c.setStatus(CampaignStatus.ACTIVE);
+        Long campaignId = campaignRepository.save(c).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < DONATIONS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                Donation d = new Donation();
+                d.setAmount(new BigDecimal("5.00"));
+                d.setDonorName("Donor");
+                return donationService.makeDonation(campaignId, d);
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        Campaign reloaded = campaignRepository.findById(campaignId).orElseThrow();
+        assertEquals(0, new BigDecimal("10000.00").compareTo(reloaded.getCurrentAmount()));
+        assertEquals(DONATIONS, donationRepository.findByCampaignId(campaignId).size());
+        assertEquals(CampaignStatus.ACTIVE, reloaded.getStatus());
+    }
+}
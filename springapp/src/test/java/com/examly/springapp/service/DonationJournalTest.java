@@ -0,0 +1,111 @@
+package com.examly.springapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonationJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    private static DonationJournal.Record record(long campaignId, String amount, String message) {
+        return new DonationJournal.Record(campaignId, new BigDecimal(amount), "Donor " + campaignId, message,
+                LocalDateTime.of(2026, 3, 1, 12, 30, 15));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void testRecordsSurviveReopenInOrder() throws IOException {
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            assertEquals(1, journal.append(record(7, "12.50", "Good luck")));
+            assertEquals(2, journal.append(record(8, "1.00", null)));
+            journal.sync();
+        }
+
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            List<DonationJournal.Entry> recovered = journal.recovered();
+            assertEquals(2, recovered.size());
+            assertEquals(1, recovered.get(0).sequence());
+            assertEquals(record(7, "12.50", "Good luck"), recovered.get(0).record());
+            assertNull(recovered.get(1).record().message());
+            // Sequences continue after the recovered ones
+            assertEquals(3, journal.append(record(9, "3.00", null)));
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscardedAndOverwritten() throws IOException {
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            journal.append(record(1, "5.00", null));
+            journal.append(record(2, "6.00", "second"));
+            journal.sync();
+        }
+        // Corrupt a byte inside the second record's payload, as a crash mid-write would
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int firstLength = file.readInt();
+            file.seek(DonationJournal.HEADER_BYTES + firstLength + DonationJournal.HEADER_BYTES + 12);
+            file.write(0x7F);
+        }
+
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            assertEquals(1, journal.recovered().size());
+            assertEquals(2, journal.append(record(3, "7.00", null)));
+            journal.sync();
+        }
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            List<DonationJournal.Entry> recovered = journal.recovered();
+            assertEquals(2, recovered.size());
+            assertEquals(3, recovered.get(1).record().campaignId());
+        }
+    }
+
+    @Test
+    void testFullSegmentsRollAndAreReleasedOnceApplied() throws IOException {
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            long last = 0;
+            for (int i = 0; i < 200; i++) {
+                last = journal.append(record(i, "2.00", "a message that takes up some room"));
+            }
+            journal.sync();
+            int segments = journal.segmentCount();
+            assertTrue(segments > 2);
+            assertEquals(segments, segmentFiles().size());
+
+            assertEquals(0, journal.release(0));
+            // Everything applied: every closed segment goes, the active one stays
+            assertEquals(segments - 1, journal.release(last));
+            assertEquals(1, segmentFiles().size());
+        }
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            assertEquals(200, journal.recovered().get(journal.recovered().size() - 1).sequence());
+            assertEquals(201, journal.append(record(1, "1.00", null)));
+        }
+    }
+
+    @Test
+    void testOversizedRecordIsRefused() throws IOException {
+        try (DonationJournal journal = new DonationJournal(directory, SEGMENT_BYTES)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> journal.append(record(1, "1.00", "x".repeat(SEGMENT_BYTES))));
+        }
+    }
+}
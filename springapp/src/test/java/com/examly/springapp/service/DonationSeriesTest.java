@@ -0,0 +1,60 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.RollupGranularity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonationSeriesTest {
+
+    @Test
+    void testRecordFeedsEveryGranularity() {
+        DonationSeries series = new DonationSeries();
+        long now = 1_000_000L * 60;    // on a day boundary
+        series.record(now, 1, 2500);
+        series.record(now, 1, 1000);
+        series.record(now + 61, 1, 500);
+
+        long[] counts = new long[2];
+        long[] cents = new long[2];
+        series.read(RollupGranularity.MINUTE, now, counts, cents, 0);
+        assertArrayEquals(new long[]{2, 0}, counts);
+        assertArrayEquals(new long[]{3500, 0}, cents);
+
+        series.read(RollupGranularity.HOUR, RollupGranularity.HOUR.bucketOf(now), counts, cents, 0);
+        assertArrayEquals(new long[]{2, 1}, counts);
+        assertArrayEquals(new long[]{3500, 500}, cents);
+
+        long[] day = new long[1];
+        long[] dayCents = new long[1];
+        series.read(RollupGranularity.DAY, RollupGranularity.DAY.bucketOf(now), day, dayCents, 0);
+        assertEquals(3, day[0]);
+        assertEquals(4000, dayCents[0]);
+    }
+
+    @Test
+    void testRecycledSlotsReadAsZero() {
+        DonationSeries series = new DonationSeries();
+        series.record(100, 1, 100);
+        series.record(100 + DonationSeries.MINUTE_SLOTS, 1, 300);    // same minute slot, one ring later
+        series.record(100, 1, 900);                                   // too late for the minute ring
+
+        long[] counts = new long[1];
+        long[] cents = new long[1];
+        series.read(RollupGranularity.MINUTE, 100, counts, cents, 0);
+        assertEquals(0, counts[0]);
+        series.read(RollupGranularity.MINUTE, 100 + DonationSeries.MINUTE_SLOTS, counts, cents, 0);
+        assertEquals(1, counts[0]);
+        assertEquals(300, cents[0]);
+    }
+
+    @Test
+    void testIdleOnceEveryBucketHasAgedOut() {
+        DonationSeries series = new DonationSeries();
+        long now = 10_000_000L;
+        series.record(now, 1, 100);
+
+        assertFalse(series.idle(now + 60L * 24));
+        assertTrue(series.idle(now + 60L * 24 * (DonationSeries.DAY_SLOTS + 1)));
+    }
+}
@@ -1,74 +1,99 @@
-package com.examly.springapp.service;
-
-import com.examly.springapp.model.Campaign;
-import com.examly.springapp.model.CampaignStatus;
-import com.examly.springapp.model.Donation;
-import com.examly.springapp.repository.CampaignRepository;
-import com.examly.springapp.repository.DonationRepository;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.validation.ValidationException;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-
-import java.math.BigDecimal;
-import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
-
-class DonationServiceTest {
-    @Mock
-    private DonationRepository donationRepository;
-    @Mock
-    private CampaignRepository campaignRepository;
-    @Mock
-    private CampaignService campaignService;
-    @InjectMocks
-    private DonationService donationService;
-
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
-    }
-
-    @Test
-    void testMakeDonation_Success() {
-        Campaign c = new Campaign();
-        c.setId(1L);
-        c.setTitle("Animals");
-        c.setCurrentAmount(new BigDecimal("200.00"));
-        c.setGoalAmount(new BigDecimal("500.00"));
-        c.setStatus(CampaignStatus.ACTIVE);
-        Donation d = new Donation();
-        d.setAmount(new BigDecimal("50.00"));
-        d.setDonorName("DonorX");
-        when(campaignRepository.findById(1L)).thenReturn(Optional.of(c));
-        when(donationRepository.save(any(Donation.class))).thenAnswer(i -> i.getArguments()[0]);
-
-        Donation result = donationService.makeDonation(1L, d);
-        assertEquals("DonorX", result.getDonorName());
-        assertEquals(new BigDecimal("250.00"), c.getCurrentAmount());
-    }
-
-    @Test
-    void testMakeDonation_ExpiredOrCompletedFails() {
-        Campaign c = new Campaign();
-        c.setId(2L);
-        c.setStatus(CampaignStatus.EXPIRED);
-        Donation d = new Donation();
-        d.setAmount(new BigDecimal("30.00"));
-        d.setDonorName("Nope");
-        when(campaignRepository.findById(2L)).thenReturn(Optional.of(c));
-        Exception ex = assertThrows(ValidationException.class, () -> donationService.makeDonation(2L, d));
-        assertTrue(ex.getMessage().contains("not ACTIVE"));
-    }
-
-    @Test
-    void testGetDonationsForCampaign_NotFound() {
-        when(campaignRepository.existsById(5L)).thenReturn(false);
-        assertThrows(EntityNotFoundException.class, () -> donationService.getDonationsForCampaign(5L));
-    }
-}
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DonationServiceTest {
+    @Mock
+    private DonationRepository donationRepository;
+    @Mock
+    private CampaignRepository campaignRepository;
+    @Mock
+    private CampaignService campaignService;
+    @Mock
+    private CampaignCache campaignCache;
+    @Mock
+    private CampaignStatsService campaignStatsService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private DonationService donationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testMakeDonation_Success() {
+        Campaign c = new Campaign();
+        c.setId(1L);
+        c.setTitle("Animals");
+        c.setCurrentAmount(new BigDecimal("200.00"));
+        c.setGoalAmount(new BigDecimal("500.00"));
+        c.setStatus(CampaignStatus.ACTIVE);
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("50.00"));
+        d.setDonorName("DonorX");
+        when(campaignCache.get(1L)).thenReturn(Optional.of(c));
+        when(campaignRepository.incrementCurrentAmount(eq(1L), eq(new BigDecimal("50.00")), any(LocalDate.class))).thenReturn(1);
+        when(donationRepository.save(any(Donation.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        Donation result = donationService.makeDonation(1L, d);
+        assertEquals("DonorX", result.getDonorName());
+        assertEquals(new BigDecimal("250.00"), c.getCurrentAmount());
+        verify(campaignRepository, never()).save(any(Campaign.class));
+    }
+
+    @Test
+    void testMakeDonation_RejectedWhenGuardedIncrementMisses() {
+        Campaign c = new Campaign();
+        c.setId(3L);
+        c.setCurrentAmount(BigDecimal.ZERO);
+        c.setStatus(CampaignStatus.ACTIVE);
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("10.00"));
+        d.setDonorName("Late");
+        when(campaignCache.get(3L)).thenReturn(Optional.of(c));
+        when(campaignRepository.incrementCurrentAmount(eq(3L), any(BigDecimal.class), any(LocalDate.class))).thenReturn(0);
+        assertThrows(ValidationException.class, () -> donationService.makeDonation(3L, d));
+        verify(donationRepository, never()).save(any(Donation.class));
+    }
+
+    @Test
+    void testMakeDonation_ExpiredOrCompletedFails() {
+        Campaign c = new Campaign();
+        c.setId(2L);
+        c.setStatus(CampaignStatus.EXPIRED);
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal("30.00"));
+        d.setDonorName("Nope");
+        when(campaignCache.get(2L)).thenReturn(Optional.of(c));
+        Exception ex = assertThrows(ValidationException.class, () -> donationService.makeDonation(2L, d));
+        assertTrue(ex.getMessage().contains("not ACTIVE"));
+    }
+
+    @Test
+    void testGetDonationsForCampaign_NotFound() {
+        when(campaignRepository.existsById(5L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> donationService.getDonationsForCampaign(5L));
+    }
+}
@@ -0,0 +1,41 @@
+package com.examly.springapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonationWindowTest {
+
+    @Test
+    void testCountsWithinLastHourAndDay() {
+        DonationWindow window = new DonationWindow();
+        long now = 1_000_000L;
+        window.record(now, 2);
+        window.record(now - 59, 3);
+        window.record(now - 60, 5);    // just outside the hour
+        window.record(now - 23 * 60, 7);
+
+        assertEquals(5, window.lastHour(now));
+        assertEquals(17, window.lastDay(now));
+    }
+
+    @Test
+    void testSlotsAreRecycledAsTimeMovesOn() {
+        DonationWindow window = new DonationWindow();
+        window.record(100, 4);
+        window.record(160, 1);         // same minute slot, one hour later
+
+        assertEquals(1, window.lastHour(160));
+        assertEquals(0, window.lastHour(100 + 24 * 60 * 2));
+        assertEquals(0, window.lastDay(100 + 24 * 60 * 2));
+    }
+
+    @Test
+    void testLateRecordForOverwrittenSlotIsIgnored() {
+        DonationWindow window = new DonationWindow();
+        window.record(160, 1);
+        window.record(100, 9);
+
+        assertEquals(1, window.lastHour(160));
+    }
+}
@@ -0,0 +1,178 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Campaign;
+import com.examly.springapp.model.CampaignStatus;
+import com.examly.springapp.model.Donation;
+import com.examly.springapp.model.DonationDeadLetter;
+import com.examly.springapp.repository.CampaignRepository;
+import com.examly.springapp.repository.DonationDeadLetterRepository;
+import com.examly.springapp.repository.DonationRepository;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "donations.write-behind.enabled=true",
+        "donations.write-behind.segment-bytes=65536",
+        "donations.write-behind.journal-id=write-behind-test"})
+class DonationWriteBehindTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("donations.write-behind.directory", journalDirectory::toString);
+    }
+
+    @Autowired
+    private DonationWriteBehind donationWriteBehind;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationDeadLetterRepository deadLetterRepository;
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @AfterEach
+    void cleanup() {
+        deadLetterRepository.deleteAll();
+        donationRepository.deleteAll();
+        campaignRepository.deleteAll();
+        campaignCache.clear();
+    }
+
+    Campaign saveCampaign(LocalDate deadline) {
+        Campaign c = new Campaign();
+        c.setTitle("Journaled Campaign");
+        c.setDescription("A campaign fed through the write-behind journal.");
+        c.setGoalAmount(new BigDecimal("100000.00"));
+        c.setCategory("Community");
+        c.setCreatorName("Ann");
+        c.setDeadline(deadline);
+        return campaignRepository.save(c);
+    }
+
+    Donation donation(String amount) {
+        Donation d = new Donation();
+        d.setAmount(new BigDecimal(amount));
+        d.setDonorName("Webhook");
+        return d;
+    }
+
+    void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (donationWriteBehind.backlog() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "journal did not drain");
+            Thread.sleep(10);
+        }
+    }
+
+    BigDecimal currentAmount(Long campaignId) {
+        return campaignRepository.findById(campaignId).orElseThrow().getCurrentAmount();
+    }
+
+    @Test
+    void testAcknowledgedDonationsAreAppliedInBatches() throws Exception {
+        Long first = saveCampaign(LocalDate.now().plusDays(5)).getId();
+        Long second = saveCampaign(LocalDate.now().plusDays(5)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Donation>> results = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Long campaignId = i % 3 == 0 ? second : first;
+            results.add(pool.submit(() -> donationWriteBehind.donate(campaignId, donation("2.00"))));
+        }
+        for (Future<Donation> result : results) {
+            // Acknowledged from the journal, so no database id yet
+            assertNull(result.get().getId());
+            assertNotNull(result.get().getDonatedAt());
+        }
+        pool.shutdown();
+        awaitDrained();
+
+        assertEquals(0, new BigDecimal("800.00").compareTo(currentAmount(first)));
+        assertEquals(0, new BigDecimal("400.00").compareTo(currentAmount(second)));
+        assertEquals(600, donationRepository.count());
+    }
+
+    @Test
+    void testRestartReplaysOnlyUnappliedRecords() throws Exception {
+        Long campaignId = saveCampaign(LocalDate.now().plusDays(5)).getId();
+        donationWriteBehind.donate(campaignId, donation("10.00"));
+        awaitDrained();
+
+        // Simulate a crash after fsync but before the drainer ran: append straight to the journal on disk
+        donationWriteBehind.stop();
+        try (DonationJournal journal = new DonationJournal(journalDirectory, 65536)) {
+            journal.append(new DonationJournal.Record(campaignId, new BigDecimal("5.00"), "Offline", null,
+                    LocalDateTime.now()));
+            journal.sync();
+        }
+        donationWriteBehind.start();
+        awaitDrained();
+
+        // The first donation is below the checkpoint and is not applied twice
+        assertEquals(0, new BigDecimal("15.00").compareTo(currentAmount(campaignId)));
+        assertEquals(2, donationRepository.count());
+
+        donationWriteBehind.stop();
+        donationWriteBehind.start();
+        awaitDrained();
+        assertEquals(0, new BigDecimal("15.00").compareTo(currentAmount(campaignId)));
+    }
+
+    @Test
+    void testInactiveCampaignIsRefusedBeforeJournaling() {
+        Long expired = saveCampaign(LocalDate.now().minusDays(1)).getId();
+        assertThrows(ValidationException.class, () -> donationWriteBehind.donate(expired, donation("5.00")));
+        assertEquals(0, donationWriteBehind.backlog());
+    }
+
+    @Test
+    void testDonationRefusedAtDrainIsKeptAsDeadLetter() throws Exception {
+        Campaign campaign = saveCampaign(LocalDate.now().plusDays(5));
+        Long campaignId = campaign.getId();
+        // The cache still holds the campaign as ACTIVE, so the donation is acknowledged after it stopped accepting
+        campaignCache.get(campaignId);
+        campaign.setStatus(CampaignStatus.CANCELLED);
+        campaignRepository.save(campaign);
+
+        Donation d = donation("7.50");
+        d.setMessage("For the roof");
+        donationWriteBehind.donate(campaignId, d);
+        awaitDrained();
+
+        assertEquals(0, donationRepository.count());
+        List<DonationDeadLetter> deadLetters = deadLetterRepository.findByCampaignIdOrderByJournalSequence(campaignId);
+        assertEquals(1, deadLetters.size());
+        DonationDeadLetter deadLetter = deadLetters.get(0);
+        assertEquals("write-behind-test", deadLetter.getJournalId());
+        assertEquals(0, new BigDecimal("7.50").compareTo(deadLetter.getAmount()));
+        assertEquals("Webhook", deadLetter.getDonorName());
+        assertEquals("For the roof", deadLetter.getMessage());
+        assertEquals(d.getDonatedAt().truncatedTo(ChronoUnit.MILLIS), deadLetter.getDonatedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertTrue(deadLetter.getReason().contains("not ACTIVE"));
+        assertNotNull(deadLetter.getRefusedAt());
+    }
+}